@@ -0,0 +1,99 @@
+package com.biblioteca.carga;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latências por endpoint ("METODO /padrao") na janela de medição. Guarda todas as amostras (em
+ * microssegundos) e calcula os percentis ordenando-as no fim: com algumas centenas de milhares de
+ * requisições é barato e não tem o erro de arredondamento de um histograma.
+ */
+final class Estatisticas {
+
+    private final Map<String, Amostras> porEndpoint = new ConcurrentHashMap<>();
+    private volatile boolean ativo;
+    private long inicio;
+    private long fim;
+
+    void iniciar() {
+        porEndpoint.clear();
+        inicio = System.nanoTime();
+        ativo = true;
+    }
+
+    void encerrar() {
+        ativo = false;
+        fim = System.nanoTime();
+    }
+
+    void registrar(String endpoint, long nanos, boolean sucesso) {
+        if (!ativo) return;
+        porEndpoint.computeIfAbsent(endpoint, e -> new Amostras()).adicionar(nanos / 1000, sucesso);
+    }
+
+    double segundosMedidos() {
+        return (fim - inicio) / 1e9;
+    }
+
+    List<Resumo> resumos() {
+        double segundos = segundosMedidos();
+        List<Resumo> resumos = new ArrayList<>();
+        porEndpoint.forEach((endpoint, amostras) -> resumos.add(amostras.resumir(endpoint, segundos)));
+        resumos.sort(Comparator.comparing(Resumo::endpoint));
+        return resumos;
+    }
+
+    static void imprimir(List<Resumo> resumos, double segundos, PrintStream saida) {
+        saida.printf("%-38s %9s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "req", "req/s", "erros", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (Resumo r : resumos) {
+            total += r.requisicoes();
+            saida.printf("%-38s %9d %8.1f %7d %9.1f %9.1f %9.1f %9.1f%n", r.endpoint(), r.requisicoes(),
+                    r.vazao(), r.erros(), r.p50Ms(), r.p99Ms(), r.p999Ms(), r.maxMs());
+        }
+        saida.printf("total: %d requisições em %.1f s (%.1f req/s)%n", total, segundos, total / segundos);
+    }
+
+    record Resumo(String endpoint, long requisicoes, long erros, double vazao,
+                  double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        double taxaErros() {
+            return requisicoes == 0 ? 0 : (double) erros / requisicoes;
+        }
+    }
+
+    private static final class Amostras {
+
+        private long[] micros = new long[1024];
+        private int tamanho;
+        private long erros;
+
+        synchronized void adicionar(long valor, boolean sucesso) {
+            if (tamanho == micros.length) {
+                micros = Arrays.copyOf(micros, tamanho * 2);
+            }
+            micros[tamanho++] = valor;
+            if (!sucesso) erros++;
+        }
+
+        synchronized Resumo resumir(String endpoint, double segundos) {
+            long[] ordenadas = Arrays.copyOf(micros, tamanho);
+            Arrays.sort(ordenadas);
+            return new Resumo(endpoint, tamanho, erros, tamanho / segundos,
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.99), percentil(ordenadas, 0.999),
+                    tamanho == 0 ? 0 : ordenadas[tamanho - 1] / 1000.0);
+        }
+
+        private static double percentil(long[] ordenadas, double q) {
+            if (ordenadas.length == 0) return 0;
+            int posicao = (int) Math.ceil(q * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, posicao)] / 1000.0;
+        }
+    }
+}
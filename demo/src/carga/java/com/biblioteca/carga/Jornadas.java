@@ -0,0 +1,168 @@
+package com.biblioteca.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jornadas roteirizadas de um usuário virtual contra a API REST real. Cada passo é registrado em
+ * {@link Estatisticas} pelo padrão do endpoint; uma resposta com erro interrompe a jornada, já que
+ * os passos seguintes dependem dela.
+ * - visitante: páginas do catálogo, detalhe, avaliações do livro, busca e mais vendidos
+ * - cliente: login (sessão reaproveitada entre jornadas), catálogo, checkout do carrinho (compra em
+ *   lote), avaliação e "minhas compras"
+ * - admin: listagem de clientes, de compras e do catálogo por avaliação (login uma vez por usuário)
+ * Uma instância por usuário virtual (não é thread-safe).
+ */
+final class Jornadas {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] BUSCAS = { "segredo", "mar", "reino", "sombra do", "floresta", "silva", "ilha perd" };
+    private static final String[] ORDENACOES = { "titulo", "avaliacao", "vlCompra", "createdAt" };
+
+    private final HttpClient http;
+    private final ObjectMapper json;
+    private final String base;
+    private final Estatisticas estatisticas;
+    private final long[] idsLivros;
+    private final int clientes;
+    private final String senhaClientes;
+    private String tokenAdmin;
+    private String tokenCliente;
+    private long idCliente;
+
+    Jornadas(HttpClient http, ObjectMapper json, String base, Estatisticas estatisticas,
+             long[] idsLivros, int clientes, String senhaClientes) {
+        this.http = http;
+        this.json = json;
+        this.base = base;
+        this.estatisticas = estatisticas;
+        this.idsLivros = idsLivros;
+        this.clientes = clientes;
+        this.senhaClientes = senhaClientes;
+    }
+
+    void visitante(SplittableRandom random) {
+        String sort = ORDENACOES[random.nextInt(ORDENACOES.length)];
+        JsonNode pagina = get("GET /api/livros", "/livros?limit=20&sort=" + sort, null);
+        if (pagina == null) return;
+        if (pagina.hasNonNull("proximoCursor")) {
+            if (get("GET /api/livros", "/livros?limit=20&sort=" + sort + "&after=" + pagina.get("proximoCursor").asLong(), null) == null) return;
+        }
+        long idLivro = livroPopular(random);
+        if (get("GET /api/livros/{id}", "/livros/" + idLivro, null) == null) return;
+        if (get("GET /api/avaliacoes/livro/{livroId}", "/avaliacoes/livro/" + idLivro, null) == null) return;
+        String busca = BUSCAS[random.nextInt(BUSCAS.length)].replace(" ", "%20");
+        if (get("GET /api/livros/search", "/livros/search?q=" + busca, null) == null) return;
+        get("GET /api/livros/mais-vendidos", "/livros/mais-vendidos?limit=10", null);
+    }
+
+    void cliente(SplittableRandom random) {
+        // Sessão mantida entre jornadas; 1 em 5 começa com o login de outro cliente
+        if (tokenCliente == null || random.nextInt(5) == 0) {
+            String email = "cliente" + (1 + random.nextInt(clientes)) + "@sintetico.biblioteca";
+            JsonNode login = post("POST /api/auth/login", "/auth/login", null, Map.of("email", email, "senha", senhaClientes));
+            if (login == null) return;
+            tokenCliente = login.get("token").asText();
+            idCliente = login.get("userId").asLong();
+        }
+        String token = tokenCliente;
+        long idPessoa = idCliente;
+        if (get("GET /api/livros", "/livros?limit=20&sort=avaliacao", null) == null) return;
+
+        Set<Long> carrinho = new LinkedHashSet<>();
+        int itens = 1 + random.nextInt(3);
+        while (carrinho.size() < itens) {
+            carrinho.add(livroPopular(random));
+        }
+        List<Map<String, Object>> itensLote = carrinho.stream()
+            .map(id -> Map.<String, Object>of("idLivro", id, "tipo", "COMPRA"))
+            .toList();
+        if (post("POST /api/compras/lote", "/compras/lote", token, Map.of("itens", itensLote)) == null) return;
+
+        if (random.nextInt(3) == 0) {
+            Map<String, Object> avaliacao = Map.of("cliente", Map.of("idPessoa", idPessoa),
+                    "livro", Map.of("idLivro", carrinho.iterator().next()), "nota", 3 + random.nextInt(5) * 0.5);
+            if (post("POST /api/avaliacoes", "/avaliacoes", token, avaliacao) == null) return;
+        }
+        get("GET /api/compras/minhas", "/compras/minhas", token);
+    }
+
+    void admin(SplittableRandom random) {
+        if (tokenAdmin == null) {
+            JsonNode login = post("POST /api/auth/login", "/auth/login", null,
+                    Map.of("email", "admin@livraria.com", "senha", "admin123"));
+            if (login == null) return;
+            tokenAdmin = login.get("token").asText();
+        }
+        if (get("GET /api/clientes", "/clientes", tokenAdmin) == null) return;
+        String status = random.nextBoolean() ? "FINALIZADA" : "EM_ANDAMENTO";
+        if (get("GET /api/compras", "/compras?limit=50&status=" + status, tokenAdmin) == null) return;
+        get("GET /api/livros", "/livros?limit=50&sort=avaliacao", tokenAdmin);
+    }
+
+    /**
+     * Sorteio enviesado para o início do array: alguns livros recebem a maior parte dos acessos.
+     */
+    private long livroPopular(SplittableRandom random) {
+        return idsLivros[random.nextInt(random.nextInt(idsLivros.length) + 1)];
+    }
+
+    private JsonNode get(String endpoint, String caminho, String token) {
+        return enviar(endpoint, requisicao(caminho, token).GET().build());
+    }
+
+    private JsonNode post(String endpoint, String caminho, String token, Object corpo) {
+        try {
+            HttpRequest request = requisicao(caminho, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(corpo)))
+                .build();
+            return enviar(endpoint, request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + caminho)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode enviar(String endpoint, HttpRequest request) {
+        long inicio = System.nanoTime();
+        HttpResponse<byte[]> resposta;
+        try {
+            resposta = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            estatisticas.registrar(endpoint, System.nanoTime() - inicio, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        boolean sucesso = resposta.statusCode() / 100 == 2;
+        estatisticas.registrar(endpoint, System.nanoTime() - inicio, sucesso);
+        if (!sucesso) return null;
+        try {
+            return resposta.body().length == 0 ? json.createObjectNode() : json.readTree(resposta.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.biblioteca.carga;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Limites de regressão lidos de {@code carga.limites.*}. Percentis no formato "METODO /padrao=ms,..."
+ * (o mesmo de {@code sql.monitor.orcamentos}), com "*" para os endpoints não listados.
+ */
+final class LimitesCarga {
+
+    private final Map<String, Map<String, Double>> percentis = new HashMap<>();
+    private final double taxaErros;
+    private final double vazaoMinima;
+
+    LimitesCarga(Environment env) {
+        for (String percentil : List.of("p50-ms", "p99-ms", "p999-ms")) {
+            percentis.put(percentil, lerPorEndpoint(env.getProperty("carga.limites." + percentil, "")));
+        }
+        this.taxaErros = env.getProperty("carga.limites.taxa-erros", Double.class, 0.01);
+        this.vazaoMinima = env.getProperty("carga.limites.vazao-minima", Double.class, 0.0);
+    }
+
+    /**
+     * Lista as violações (vazia quando tudo está dentro dos limites).
+     */
+    List<String> verificar(List<Estatisticas.Resumo> resumos, double segundos) {
+        List<String> violacoes = new ArrayList<>();
+        long total = 0;
+        for (Estatisticas.Resumo r : resumos) {
+            total += r.requisicoes();
+            comparar(violacoes, r.endpoint(), "p50-ms", r.p50Ms());
+            comparar(violacoes, r.endpoint(), "p99-ms", r.p99Ms());
+            comparar(violacoes, r.endpoint(), "p999-ms", r.p999Ms());
+            if (r.taxaErros() > taxaErros) {
+                violacoes.add(String.format("%s: taxa de erros %.2f%% acima de %.2f%%",
+                        r.endpoint(), r.taxaErros() * 100, taxaErros * 100));
+            }
+        }
+        double vazao = total / segundos;
+        if (vazao < vazaoMinima) {
+            violacoes.add(String.format("vazão total %.1f req/s abaixo de %.1f", vazao, vazaoMinima));
+        }
+        return violacoes;
+    }
+
+    private void comparar(List<String> violacoes, String endpoint, String percentil, double medidoMs) {
+        Map<String, Double> limites = percentis.get(percentil);
+        Double limite = limites.getOrDefault(endpoint, limites.get("*"));
+        if (limite != null && medidoMs > limite) {
+            violacoes.add(String.format("%s: %s %.1f acima do limite %.0f", endpoint, percentil, medidoMs, limite));
+        }
+    }
+
+    private static Map<String, Double> lerPorEndpoint(String valor) {
+        Map<String, Double> limites = new HashMap<>();
+        for (String item : valor.split(",")) {
+            int igual = item.lastIndexOf('=');
+            if (igual <= 0) continue;
+            limites.put(item.substring(0, igual).trim(), Double.parseDouble(item.substring(igual + 1).trim()));
+        }
+        return limites;
+    }
+}
@@ -0,0 +1,165 @@
+package com.biblioteca.carga;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.biblioteca.BibliotecaApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação inteira em processo com H2 em memória (profiles
+ * {@code sintetico} e {@code carga}), gera a base sintética e dispara {@code carga.usuarios} usuários
+ * virtuais executando as {@link Jornadas} contra a API REST real.
+ *
+ * Ao fim imprime vazão e p50/p99/p999 por endpoint, grava {@code target/carga-resultado.json} e sai
+ * com código 1 se algum limite de {@code carga.limites.*} for ultrapassado.
+ *
+ * Uso: {@code ./mvnw -Pcarga compile exec:exec -Dcarga.args="--carga.usuarios=64 --carga.duracao-s=120"}
+ */
+public final class TesteCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(TesteCarga.class);
+
+    private static final Path RESULTADO = Path.of("target", "carga-resultado.json");
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(BibliotecaApplication.class)
+            .profiles("sintetico", "carga")
+            .run(args);
+        int codigo;
+        try {
+            codigo = executar(contexto);
+        } finally {
+            SpringApplication.exit(contexto);
+        }
+        System.exit(codigo);
+    }
+
+    private static int executar(ConfigurableApplicationContext contexto) throws InterruptedException, IOException {
+        Environment env = contexto.getEnvironment();
+        int usuarios = env.getProperty("carga.usuarios", Integer.class, 32);
+        int aquecimentoS = env.getProperty("carga.aquecimento-s", Integer.class, 15);
+        int duracaoS = env.getProperty("carga.duracao-s", Integer.class, 60);
+        long pausaMs = env.getProperty("carga.pausa-ms", Long.class, 0L);
+        long semente = env.getProperty("carga.semente", Long.class, 7L);
+        int[] mix = lerMix(env.getProperty("carga.mix", "visitante=70,cliente=25,admin=5"));
+
+        String base = "http://localhost:" + env.getProperty("local.server.port") + "/api";
+        long[] idsLivros = contexto.getBean(JdbcTemplate.class)
+            .queryForList("SELECT id_livro FROM TB_Livro ORDER BY id_livro", Long.class)
+            .stream().mapToLong(Long::longValue).toArray();
+        int clientes = env.getProperty("dados.sinteticos.clientes", Integer.class);
+        String senha = env.getProperty("dados.sinteticos.senha", "cliente123");
+
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        ObjectMapper json = new ObjectMapper();
+        Estatisticas estatisticas = new Estatisticas();
+
+        log.info("Carga: {} usuários, aquecimento {} s, medição {} s, {} livros e {} clientes em {}",
+                usuarios, aquecimentoS, duracaoS, idsLivros.length, clientes, base);
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(aquecimentoS + duracaoS);
+        for (int u = 0; u < usuarios; u++) {
+            SplittableRandom random = new SplittableRandom(semente * 1_000_003L + u);
+            Jornadas jornadas = new Jornadas(http, json, base, estatisticas, idsLivros, clientes, senha);
+            executor.submit(() -> {
+                while (System.nanoTime() < fim && !Thread.currentThread().isInterrupted()) {
+                    int sorteio = random.nextInt(mix[2]);
+                    if (sorteio < mix[0]) {
+                        jornadas.visitante(random);
+                    } else if (sorteio < mix[1]) {
+                        jornadas.cliente(random);
+                    } else {
+                        jornadas.admin(random);
+                    }
+                    if (pausaMs > 0) {
+                        try {
+                            Thread.sleep(pausaMs);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+            });
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(aquecimentoS));
+        estatisticas.iniciar();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(duracaoS));
+        estatisticas.encerrar();
+        executor.shutdown();
+        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        List<Estatisticas.Resumo> resumos = estatisticas.resumos();
+        double segundos = estatisticas.segundosMedidos();
+        Estatisticas.imprimir(resumos, segundos, System.out);
+        List<String> violacoes = new LimitesCarga(env).verificar(resumos, segundos);
+        gravarResultado(json, usuarios, segundos, resumos, violacoes);
+
+        if (violacoes.isEmpty()) {
+            log.info("Carga dentro dos limites; resultado em {}", RESULTADO);
+            return 0;
+        }
+        violacoes.forEach(v -> log.error("Limite ultrapassado: {}", v));
+        return 1;
+    }
+
+    /**
+     * Converte "visitante=70,cliente=25,admin=5" em limites acumulados [visitante, +cliente, +admin].
+     */
+    private static int[] lerMix(String valor) {
+        Map<String, Integer> pesos = new LinkedHashMap<>(Map.of("visitante", 0, "cliente", 0, "admin", 0));
+        for (String item : valor.split(",")) {
+            String[] partes = item.split("=");
+            if (partes.length != 2 || !pesos.containsKey(partes[0].trim())) {
+                throw new IllegalArgumentException("carga.mix inválido: " + valor);
+            }
+            pesos.put(partes[0].trim(), Integer.parseInt(partes[1].trim()));
+        }
+        int visitante = pesos.get("visitante");
+        int cliente = visitante + pesos.get("cliente");
+        int total = cliente + pesos.get("admin");
+        if (total <= 0) {
+            throw new IllegalArgumentException("carga.mix sem pesos positivos: " + valor);
+        }
+        return new int[] { visitante, cliente, total };
+    }
+
+    private static void gravarResultado(ObjectMapper json, int usuarios, double segundos,
+                                        List<Estatisticas.Resumo> resumos, List<String> violacoes) throws IOException {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("usuarios", usuarios);
+        resultado.put("segundosMedidos", segundos);
+        resultado.put("endpoints", new ArrayList<>(resumos));
+        resultado.put("violacoes", violacoes);
+        Files.createDirectories(RESULTADO.getParent());
+        json.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(RESULTADO.toFile(), resultado);
+    }
+}
@@ -0,0 +1,88 @@
+package com.biblioteca.benchmark;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.biblioteca.model.Livro;
+import com.biblioteca.service.IndiceBuscaLivros;
+
+/**
+ * Busca textual no catálogo:
+ * - indice: {@link IndiceBuscaLivros#buscar} (termo exato + prefixo do último termo, com ranking)
+ * - varredura: "contém" em título, autor, gênero e sinopse de cada livro, o equivalente em memória
+ *   aos LIKE '%termo%' (limite inferior do custo, sem ida ao banco). Campos e consulta passam pela
+ *   mesma normalização do índice (minúsculas, sem acentos), como a collation accent-insensitive do
+ *   MySQL, para que as duas variantes encontrem os mesmos livros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuscaCatalogoBenchmark {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    @Param({ "1000", "10000" })
+    public int livrosNoCatalogo;
+
+    @Param({ "aventura", "misterio cida" })
+    public String consulta;
+
+    private IndiceBuscaLivros indice;
+    private List<Livro> livros;
+
+    @Setup
+    public void preparar() {
+        livros = DadosSinteticos.livros(livrosNoCatalogo);
+        indice = new IndiceBuscaLivros();
+        livros.forEach(indice::indexar);
+    }
+
+    @Benchmark
+    public List<Long> indice() {
+        return indice.buscar(consulta);
+    }
+
+    @Benchmark
+    public List<Long> varredura() {
+        String[] termos = normalizar(consulta).split(" ");
+        return livros.stream()
+            .filter(l -> {
+                for (String t : termos) {
+                    if (contem(l.getTitulo(), t) || contem(l.getAutor(), t)
+                            || contem(l.getGenero(), t) || contem(l.getSinopse(), t)) {
+                        return true;
+                    }
+                }
+                return false;
+            })
+            .map(Livro::getIdLivro)
+            .toList();
+    }
+
+    private static boolean contem(String campo, String termo) {
+        return campo != null && normalizar(campo).contains(termo);
+    }
+
+    private static String normalizar(String texto) {
+        return MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+            .replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,111 @@
+package com.biblioteca.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.biblioteca.model.Cliente;
+import com.biblioteca.model.Compra;
+import com.biblioteca.model.Livro;
+import com.biblioteca.model.TipoCompra;
+
+/**
+ * Entidades em memória com conteúdo parecido com o real (título, autor, sinopse de 60 palavras),
+ * geradas com semente fixa para que as execuções sejam comparáveis entre builds.
+ */
+final class DadosSinteticos {
+
+    static final String[] PALAVRAS = {
+        "aventura", "coração", "mistério", "cidade", "noite", "mar", "guerra", "amor", "sombra", "viagem",
+        "segredo", "família", "memória", "rio", "floresta", "tempo", "caminho", "silêncio", "fogo", "estrela",
+        "história", "reino", "jardim", "inverno", "promessa", "destino", "ilha", "montanha", "carta", "espelho"
+    };
+    private static final String[] SUFIXOS = { "", "s", "al", "eiro", "ista", "inho", "ado", "oso", "mente", "idade" };
+    // Vocabulário de 300 palavras; frases sorteiam com viés para as primeiras (poucas palavras muito comuns)
+    static final String[] VOCABULARIO = vocabulario();
+
+    static final String[] GENEROS = { "Ficção", "Romance", "Fantasia", "Suspense", "Biografia", "História", "Poesia" };
+    static final String[] AUTORES = { "José da Silva", "Maria Souza", "Ana Lima", "Carlos Pereira", "Beatriz Costa" };
+
+    private DadosSinteticos() {
+    }
+
+    static List<Livro> livros(int quantidade) {
+        Random random = new Random(42);
+        List<Livro> livros = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Livro l = new Livro();
+            l.setIdLivro((long) i);
+            l.setTitulo(frase(random, 3) + " " + i);
+            l.setAutor(AUTORES[random.nextInt(AUTORES.length)]);
+            l.setGenero(GENEROS[random.nextInt(GENEROS.length)]);
+            l.setDtPublicacao(LocalDate.of(1950 + random.nextInt(70), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            l.setVlCompra(BigDecimal.valueOf(1000 + random.nextInt(9000), 2));
+            l.setVlAluguel(random.nextBoolean() ? BigDecimal.valueOf(500 + random.nextInt(1500), 2) : null);
+            l.setAvaliacao(BigDecimal.valueOf(random.nextInt(51), 1));
+            l.setResumoCurto(frase(random, 12));
+            l.setSinopse(frase(random, 60));
+            l.setCreatedByEmail("func@livraria.com");
+            l.setCreatedByRole("FUNCIONARIO");
+            l.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusHours(i));
+            livros.add(l);
+        }
+        return livros;
+    }
+
+    static List<Compra> compras(List<Livro> livros, int quantidade) {
+        Random random = new Random(7);
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            Cliente c = new Cliente();
+            c.setIdPessoa((long) i);
+            c.setNome("Cliente " + i);
+            c.setEmail("cliente" + i + "@livraria.com");
+            c.setCpf(String.format("%011d", i));
+            c.setTelefone("11999990000");
+            c.setGenero(i % 2 == 0 ? "Feminino" : "Masculino");
+            c.setEndereco("Rua " + frase(random, 2) + ", " + i);
+            c.setDtNascimento(LocalDate.of(1980 + i % 20, 1 + i % 12, 1 + i % 28));
+            c.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            clientes.add(c);
+        }
+        List<Compra> compras = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Compra cp = new Compra();
+            cp.setIdCompra((long) i);
+            cp.setLivro(livros.get(random.nextInt(livros.size())));
+            cp.setCliente(clientes.get(random.nextInt(clientes.size())));
+            boolean aluguel = random.nextInt(3) == 0;
+            cp.setTipo(aluguel ? TipoCompra.ALUGUEL : TipoCompra.COMPRA);
+            cp.setStatus(aluguel ? "EM_ANDAMENTO" : "FINALIZADA");
+            cp.setDtInicio(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            cp.setDtFim(aluguel ? cp.getDtInicio().plusDays(14) : cp.getDtInicio());
+            cp.setTipoPagamento("PIX");
+            compras.add(cp);
+        }
+        return compras;
+    }
+
+    static String frase(Random random, int palavras) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(VOCABULARIO[random.nextInt(random.nextInt(VOCABULARIO.length) + 1)]);
+        }
+        return sb.toString();
+    }
+
+    private static String[] vocabulario() {
+        String[] v = new String[PALAVRAS.length * SUFIXOS.length];
+        int i = 0;
+        for (String sufixo : SUFIXOS) {
+            for (String palavra : PALAVRAS) {
+                v[i++] = palavra + sufixo;
+            }
+        }
+        return v;
+    }
+}
@@ -0,0 +1,57 @@
+package com.biblioteca.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.biblioteca.dto.CompraDTO;
+import com.biblioteca.dto.LivroDTO;
+import com.biblioteca.mapper.DtoMapper;
+import com.biblioteca.model.Compra;
+import com.biblioteca.model.Livro;
+
+/**
+ * Conversão entidade -> DTO de uma listagem, como feita nos controllers.
+ * CompraDTO inclui LivroDTO e ClienteDTO aninhados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    @Param({ "50", "500" })
+    public int tamanho;
+
+    private List<Livro> livros;
+    private List<Compra> compras;
+
+    @Setup
+    public void preparar() {
+        livros = DadosSinteticos.livros(tamanho);
+        compras = DadosSinteticos.compras(livros, tamanho);
+    }
+
+    @Benchmark
+    public List<LivroDTO> livros() {
+        return livros.stream().map(DtoMapper::toLivroDTO).toList();
+    }
+
+    @Benchmark
+    public List<CompraDTO> compras() {
+        return compras.stream().map(DtoMapper::toCompraDTO).toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.biblioteca.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.biblioteca.dto.CompraDTO;
+import com.biblioteca.dto.LivroDTO;
+import com.biblioteca.mapper.DtoMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Serialização JSON das listagens de livros e compras com um ObjectMapper configurado como o da
+ * aplicação (módulos registrados pelo builder do Spring, datas ISO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({ "50", "500" })
+    public int tamanho;
+
+    private ObjectMapper mapper;
+    private List<LivroDTO> livros;
+    private List<CompraDTO> compras;
+
+    @Setup
+    public void preparar() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        var entidades = DadosSinteticos.livros(tamanho);
+        livros = entidades.stream().map(DtoMapper::toLivroDTO).toList();
+        compras = DadosSinteticos.compras(entidades, tamanho).stream().map(DtoMapper::toCompraDTO).toList();
+    }
+
+    @Benchmark
+    public byte[] livros() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(livros);
+    }
+
+    @Benchmark
+    public byte[] compras() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(compras);
+    }
+}
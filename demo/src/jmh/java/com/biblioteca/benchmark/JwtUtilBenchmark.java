@@ -0,0 +1,85 @@
+package com.biblioteca.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.biblioteca.security.JwtPrincipal;
+import com.biblioteca.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Custo de autenticar uma requisição com o mesmo token:
+ * - legado: o que o filtro fazia antes (chave recriada e cinco parses completos)
+ * - parseUnico: um parse por requisição, sem cache
+ * - cacheado: token repetido atendido pelo LRU de tokens verificados
+ * - gerar: emissão de um token no login
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SEGREDO = "suaChaveSecretaSuperSeguraComPeloMenos256BitsParaGarantirSegurancaTotal";
+    private static final long EXPIRACAO = 86_400_000L;
+
+    private JwtUtil semCache;
+    private JwtUtil comCache;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        semCache = new JwtUtil(SEGREDO, EXPIRACAO, 0);
+        comCache = new JwtUtil(SEGREDO, EXPIRACAO, 10_000);
+        token = semCache.generateToken("cliente@livraria.com", "CLIENTE", 42L);
+    }
+
+    @Benchmark
+    public void legado(Blackhole bh) {
+        boolean valido = !claimsLegado(token).getExpiration().before(new java.util.Date());
+        claimsLegado(token);
+        bh.consume(valido);
+        bh.consume(claimsLegado(token).getSubject());
+        bh.consume(claimsLegado(token).get("role", String.class));
+        bh.consume(claimsLegado(token).get("userId", Long.class));
+    }
+
+    @Benchmark
+    public JwtPrincipal parseUnico() {
+        return semCache.parseToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public JwtPrincipal cacheado() {
+        return comCache.parseToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public String gerar() {
+        return semCache.generateToken("cliente@livraria.com", "CLIENTE", 42L);
+    }
+
+    private static Claims claimsLegado(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SEGREDO.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,69 @@
+package com.biblioteca.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.biblioteca.security.CodificadorSenhas;
+
+/**
+ * Custo do BCrypt nos custos aceitos pela calibração (senha.bcrypt.custo-minimo..custo-maximo):
+ * - encode/matches direto na thread do benchmark
+ * - matchesNoPool: o mesmo via {@link CodificadorSenhas}, somando a passagem pelo pool dedicado
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class SenhaBenchmark {
+
+    private static final String SENHA = "senhaDoCliente123";
+
+    @Param({ "10", "12", "14" })
+    public int custo;
+
+    private BCryptPasswordEncoder bcrypt;
+    private CodificadorSenhas codificador;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        bcrypt = new BCryptPasswordEncoder(custo);
+        codificador = new CodificadorSenhas(custo, 0, custo, custo, 1, 4, 60_000);
+        hash = bcrypt.encode(SENHA);
+    }
+
+    @TearDown
+    public void encerrar() {
+        codificador.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        return bcrypt.encode(SENHA);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return bcrypt.matches(SENHA, hash);
+    }
+
+    @Benchmark
+    public boolean matchesNoPool() {
+        return codificador.matches(SENHA, hash);
+    }
+}
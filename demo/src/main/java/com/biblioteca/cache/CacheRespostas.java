@@ -0,0 +1,203 @@
+package com.biblioteca.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.config.AposCommit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache LRU limitado por bytes com respostas JSON já serializadas das leituras públicas do catálogo.
+ * Cada entrada guarda o JSON e, quando vale a pena, a versão gzip; um acerto devolve os bytes prontos,
+ * sem passar por JPA, DtoMapper ou Jackson.
+ *
+ * Chaves seguem o formato "recurso:parametros" (ex.: "livros:lista", "livros:42", "avaliacoes:livro:42")
+ * e são invalidadas pelos serviços que alteram esses dados.
+ */
+@Component
+public class CacheRespostas {
+
+    public static final String LIVROS_LISTA = "livros:lista";
+
+    private final ObjectMapper objectMapper;
+    private final VersaoCatalogo versaoCatalogo;
+    private final long maxBytes;
+    private final int gzipMinBytes;
+
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytesUsados;
+    // Incrementado a cada invalidação; impede que uma leitura iniciada antes da escrita grave dado velho
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong despejos = new AtomicLong();
+
+    public CacheRespostas(ObjectMapper objectMapper, VersaoCatalogo versaoCatalogo, MeterRegistry meterRegistry,
+                          @Value("${cache.respostas.max-bytes:33554432}") long maxBytes,
+                          @Value("${cache.respostas.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.versaoCatalogo = versaoCatalogo;
+        this.maxBytes = maxBytes;
+        this.gzipMinBytes = gzipMinBytes;
+
+        FunctionCounter.builder("cache.respostas.acertos", acertos, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("cache.respostas.falhas", falhas, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("cache.respostas.despejos", despejos, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("cache.respostas.bytes", this, CacheRespostas::getBytesUsados).register(meterRegistry);
+        Gauge.builder("cache.respostas.entradas", this, CacheRespostas::getQuantidadeEntradas).register(meterRegistry);
+    }
+
+    public static String livro(Long idLivro) {
+        return "livros:" + idLivro;
+    }
+
+    public static String avaliacoesDoLivro(Long idLivro) {
+        return "avaliacoes:livro:" + idLivro;
+    }
+
+    /**
+     * Responde com os bytes em cache ou, na falta, carrega, serializa e guarda o resultado.
+     * Se o carregador devolver null, responde 404 sem guardar nada.
+     */
+    public ResponseEntity<byte[]> responder(String chave, String acceptEncoding, Supplier<?> carregador) {
+        Entrada entrada = obter(chave, carregador);
+        if (entrada == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean aceitaGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (aceitaGzip && entrada.gzip != null) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entrada.gzip);
+        }
+        return resposta.body(entrada.json);
+    }
+
+    /**
+     * Remove as chaves informadas após o commit da transação corrente (ou imediatamente, fora de transação).
+     * Toda invalidação corresponde a uma alteração do catálogo e também avança a {@link VersaoCatalogo}.
+     */
+    public void invalidar(String... chaves) {
+        geracao.incrementAndGet();
+        AposCommit.executar(() -> {
+            geracao.incrementAndGet();
+            versaoCatalogo.incrementar();
+            synchronized (this) {
+                for (String chave : chaves) {
+                    Entrada removida = entradas.remove(chave);
+                    if (removida != null) bytesUsados -= removida.tamanho();
+                }
+            }
+        });
+    }
+
+    /**
+     * Remove todas as chaves com o prefixo informado, após o commit.
+     */
+    public void invalidarPrefixo(String prefixo) {
+        geracao.incrementAndGet();
+        AposCommit.executar(() -> {
+            geracao.incrementAndGet();
+            versaoCatalogo.incrementar();
+            synchronized (this) {
+                Iterator<Map.Entry<String, Entrada>> it = entradas.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, Entrada> e = it.next();
+                    if (e.getKey().startsWith(prefixo)) {
+                        bytesUsados -= e.getValue().tamanho();
+                        it.remove();
+                    }
+                }
+            }
+        });
+    }
+
+    public long getAcertos() { return acertos.get(); }
+    public long getFalhas() { return falhas.get(); }
+    public long getDespejos() { return despejos.get(); }
+    public synchronized long getBytesUsados() { return bytesUsados; }
+    public synchronized int getQuantidadeEntradas() { return entradas.size(); }
+
+    private Entrada obter(String chave, Supplier<?> carregador) {
+        synchronized (this) {
+            Entrada existente = entradas.get(chave);
+            if (existente != null) {
+                acertos.incrementAndGet();
+                return existente;
+            }
+        }
+        falhas.incrementAndGet();
+
+        long geracaoInicial = geracao.get();
+        Object valor = carregador.get();
+        if (valor == null) return null;
+        Entrada nova = serializar(valor);
+        if (nova.tamanho() > maxBytes) return nova;
+
+        synchronized (this) {
+            if (geracao.get() != geracaoInicial) {
+                // Houve escrita durante a carga: entrega o resultado, mas não o guarda
+                return nova;
+            }
+            Entrada anterior = entradas.put(chave, nova);
+            if (anterior != null) bytesUsados -= anterior.tamanho();
+            bytesUsados += nova.tamanho();
+            Iterator<Map.Entry<String, Entrada>> it = entradas.entrySet().iterator();
+            while (bytesUsados > maxBytes && it.hasNext()) {
+                Map.Entry<String, Entrada> maisAntiga = it.next();
+                if (maisAntiga.getKey().equals(chave)) continue;
+                bytesUsados -= maisAntiga.getValue().tamanho();
+                it.remove();
+                despejos.incrementAndGet();
+            }
+        }
+        return nova;
+    }
+
+    private Entrada serializar(Object valor) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(valor);
+            byte[] gzip = json.length >= gzipMinBytes ? comprimir(json) : null;
+            return new Entrada(json, gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta para cache", e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] dados) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private record Entrada(byte[] json, byte[] gzip) {
+        long tamanho() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
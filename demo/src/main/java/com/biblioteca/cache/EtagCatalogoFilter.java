@@ -0,0 +1,137 @@
+package com.biblioteca.cache;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Revalidação condicional das leituras do catálogo (GET em /api/livros e /api/avaliacoes/livro).
+ * Quando o If-None-Match coincide com a versão atual do catálogo, responde 304 sem chegar ao
+ * controller nem ao banco. Caso contrário, segue a requisição e anexa ETag e Cache-Control apenas se a
+ * resposta for 2xx (um 404 ou 400 não pode ser revalidado como se fosse o catálogo).
+ */
+@Component
+public class EtagCatalogoFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Value("${catalogo.http.max-age:0}")
+    private long maxAge;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        if (!"GET".equals(metodo) && !"HEAD".equals(metodo)) {
+            return true;
+        }
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        // O ranking muda com compras, que não avançam a versão do catálogo
+        if (uri.equals("/api/livros/mais-vendidos")) {
+            return true;
+        }
+        return !(uri.equals("/api/livros") || uri.startsWith("/api/livros/") || uri.startsWith("/api/avaliacoes/livro/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        // Versão capturada antes de processar: se mudar no meio, o próximo pedido revalida de novo
+        String etag = versaoCatalogo.etag();
+        if (corresponde(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(request));
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        ValidadoresEm2xx resposta = new ValidadoresEm2xx(response, etag, cacheControl(request));
+        filterChain.doFilter(request, resposta);
+        resposta.aplicar();
+    }
+
+    /**
+     * Anônimos podem usar caches compartilhados; autenticados apenas o cache do navegador.
+     */
+    private String cacheControl(HttpServletRequest request) {
+        String auth = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (auth == null || auth.isBlank()) {
+            return "public, max-age=" + maxAge + ", must-revalidate";
+        }
+        return "private, no-cache";
+    }
+
+    /**
+     * Comparação fraca, como manda o If-None-Match: o prefixo W/ é ignorado dos dois lados.
+     */
+    private static boolean corresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        String atual = semPrefixoFraco(etag);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String c = semPrefixoFraco(candidato.trim());
+            if (c.equals("*") || c.equals(atual)) return true;
+        }
+        return false;
+    }
+
+    private static String semPrefixoFraco(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Anexa ETag e Cache-Control quando o corpo começa a ser escrito (ou no fim, sem corpo), se o status
+     * nesse momento for 2xx. O status sempre é definido antes do corpo, e sendError não passa por aqui.
+     */
+    private static final class ValidadoresEm2xx extends HttpServletResponseWrapper {
+
+        private final String etag;
+        private final String cacheControl;
+        private boolean aplicado;
+
+        ValidadoresEm2xx(HttpServletResponse response, String etag, String cacheControl) {
+            super(response);
+            this.etag = etag;
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            aplicar();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            aplicar();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            aplicar();
+            super.flushBuffer();
+        }
+
+        void aplicar() {
+            if (aplicado || isCommitted()) return;
+            aplicado = true;
+            if (getStatus() / 100 == 2) {
+                setHeader(HttpHeaders.ETAG, etag);
+                setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.biblioteca.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Contador de versão do catálogo, incrementado a cada alteração confirmada de livros ou avaliações.
+ * O ETag combina a época de inicialização com a versão, para que um reinício nunca reaproveite
+ * um ETag emitido antes com conteúdo diferente. É fraco (W/): o mesmo valor vale para a resposta
+ * JSON e para a versão gzip, que não são idênticas byte a byte.
+ */
+@Component
+public class VersaoCatalogo {
+
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong versao = new AtomicLong();
+
+    public long getVersao() {
+        return versao.get();
+    }
+
+    public long incrementar() {
+        return versao.incrementAndGet();
+    }
+
+    /**
+     * ETag fraco (W/"...") para a versão atual do catálogo.
+     */
+    public String etag() {
+        return "W/\"" + epoca + "-" + versao.get() + "\"";
+    }
+}
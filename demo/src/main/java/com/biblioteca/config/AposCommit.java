@@ -0,0 +1,26 @@
+package com.biblioteca.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia efeitos em memória (caches, índice, ranking) para depois do commit da transação corrente,
+ * para que um rollback não deixe a memória à frente do banco. Fora de transação, executa na hora.
+ */
+public final class AposCommit {
+
+    private AposCommit() {}
+
+    public static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import com.biblioteca.repository.FuncionarioRepository;
 /**
  * Inicializa usuários padrão (Admin e Funcionario) para facilitar testes.
  * Cria somente se não existir um usuário com o email esperado.
+ * Com o profile {@code sintetico}, gera em seguida a base de testes de desempenho ({@link GeradorDadosSinteticos}).
  */
 @Component
 public class DataSeeder implements CommandLineRunner {
@@ -28,10 +29,17 @@ public class DataSeeder implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    // Presente apenas com o profile "sintetico"
+    @Autowired(required = false)
+    private GeradorDadosSinteticos geradorDadosSinteticos;
+
     @Override
     public void run(String... args) throws Exception {
         seedAdmin();
         seedFuncionario();
+        if (geradorDadosSinteticos != null) {
+            geradorDadosSinteticos.gerar();
+        }
     }
 
     private void seedAdmin() {
@@ -45,7 +53,6 @@ public class DataSeeder implements CommandLineRunner {
             admin.setDtNascimento(LocalDate.of(1990, 1, 1));
             admin.setEndereco("Rua Biblioteca, 100 - Centro");
             admin.setTelefone("11999999999");
-            admin.setIdAdmin(1L);
             adminRepository.save(admin);
         }
     }
@@ -61,7 +68,6 @@ public class DataSeeder implements CommandLineRunner {
             func.setDtNascimento(LocalDate.of(1995, 5, 20));
             func.setEndereco("Avenida dos Livros, 200 - Bairro");
             func.setTelefone("11988887777");
-            func.setIdFuncionario(101L);
             funcionarioRepository.save(func);
         }
     }
@@ -0,0 +1,586 @@
+package com.biblioteca.config;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.model.TextoComprimidoConverter;
+
+/**
+ * Gera uma base sintética em escala de produção (livros, clientes, compras e avaliações) para testes
+ * de desempenho. Só existe com o profile {@code sintetico}; o {@link DataSeeder} o chama depois dos
+ * usuários padrão. A conclusão fica registrada em {@code TB_Dados_Sinteticos}, gravada por último:
+ * com o registro a geração não roda de novo; sem ele, clientes sintéticos na base indicam uma geração
+ * interrompida e a subida falha pedindo que o banco seja recriado.
+ *
+ * Distribuições: a popularidade dos livros segue Zipf (poucos títulos concentram compras e avaliações),
+ * os gêneros têm pesos fixos, os clientes compram com uma cauda mais suave, as datas se espalham pelos
+ * últimos {@code dias} e as notas se concentram entre 3,5 e 5. Com a mesma semente a base é a mesma.
+ *
+ * A escrita é JDBC puro em lotes (com {@code rewriteBatchedStatements} o MySQL recebe INSERTs
+ * multi-linha), dividida em faixas processadas em paralelo, cada uma com a própria conexão. A senha
+ * dos clientes é codificada uma única vez e o mesmo hash vai para todos.
+ */
+@Component
+@Profile("sintetico")
+public class GeradorDadosSinteticos {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDadosSinteticos.class);
+
+    static final String DOMINIO_EMAIL = "@sintetico.biblioteca";
+
+    private static final String[] GENEROS = {
+        "Ficção", "Romance", "Fantasia", "Suspense", "Infantil", "Biografia", "História", "Autoajuda", "Poesia", "Ciência"
+    };
+    private static final int[] PESOS_GENEROS = acumular(24, 18, 14, 12, 9, 7, 6, 5, 3, 2);
+
+    // Notas de 1,0 a 5,0 em passos de 0,5
+    private static final int[] PESOS_NOTAS = acumular(2, 1, 3, 3, 8, 10, 22, 21, 30);
+
+    private static final String[] PAGAMENTOS = { "PIX", "CARTAO", "BOLETO" };
+    private static final int[] PESOS_PAGAMENTOS = acumular(45, 40, 15);
+
+    private static final String[] TITULO_INICIO = {
+        "O Segredo", "A Sombra", "O Último Verão", "A Memória", "O Caminho", "A Promessa", "O Silêncio",
+        "A Casa", "O Reino", "A Carta", "O Guardião", "A Viagem", "O Herdeiro", "A Canção", "O Mapa"
+    };
+    private static final String[] TITULO_MEIO = {
+        "do Rio", "da Montanha", "das Estrelas", "do Inverno", "da Ilha", "do Jardim", "da Cidade",
+        "do Mar", "da Floresta", "do Tempo", "do Farol", "da Estrada", "do Deserto", "da Torre"
+    };
+    private static final String[] TITULO_FIM = {
+        "", "", "", " Perdido", " Esquecido", " Vermelho", " Antigo", " Distante", " Proibido", " Eterno",
+        " Silencioso", " Dourado", " Partido", " Secreto", " Submerso"
+    };
+    private static final String[] NOMES = {
+        "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Henrique", "Isabela", "João",
+        "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia", "Tiago", "Vitória", "Lucas"
+    };
+    private static final String[] SOBRENOMES = {
+        "Silva", "Souza", "Oliveira", "Santos", "Pereira", "Lima", "Costa", "Ferreira", "Almeida", "Ribeiro",
+        "Carvalho", "Gomes", "Martins", "Rocha", "Barbosa", "Araújo", "Mendes", "Nascimento", "Moreira", "Cardoso"
+    };
+    private static final String[] PALAVRAS_SINOPSE = {
+        "uma", "jovem", "descobre", "antigo", "segredo", "família", "enquanto", "cidade", "enfrenta", "guerra",
+        "amor", "perdido", "viagem", "através", "montanhas", "mar", "destino", "coragem", "memórias", "sombra",
+        "reino", "traição", "amizade", "mistério", "noite", "floresta", "herança", "carta", "verdade", "esperança",
+        "passado", "inverno", "promessa", "ilha", "fuga", "silêncio", "estrela", "caminho", "tempo", "fogo"
+    };
+    private static final String[] RUAS = {
+        "Rua das Flores", "Avenida Brasil", "Rua São João", "Avenida Paulista", "Rua XV de Novembro",
+        "Rua das Palmeiras", "Avenida Atlântica", "Rua da Consolação"
+    };
+
+    private static final String SQL_LIVRO = "INSERT INTO TB_Livro (titulo, autor, dt_publicacao, genero, vl_compra, "
+            + "vl_aluguel, soma_avaliacoes, qt_avaliacoes, resumo_curto, created_by_email, created_by_role, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?, 0, 0, ?, ?, ?, ?)";
+    private static final String SQL_SINOPSE = "INSERT INTO TB_Livro_Sinopse (id_livro, conteudo) VALUES (?, ?)";
+    private static final String SQL_PESSOA = "INSERT INTO TB_Pessoa (nome, cpf, email, senha, dt_nascimento, "
+            + "endereco, telefone, genero) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_CLIENTE = "INSERT INTO TB_Cliente (id_pessoa, created_at) VALUES (?, ?)";
+    private static final String SQL_COMPRA = "INSERT INTO TB_Compra (id_livro, id_cliente, dt_inicio, dt_fim, "
+            + "status, tipo, tipo_pagamento) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_AVALIACAO = "INSERT INTO TB_Avaliacao (id_cliente, id_livro, nota, dt_avaliacao) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final String SQL_AGREGADOS = "UPDATE TB_Livro SET soma_avaliacoes = ?, qt_avaliacoes = ?, "
+            + "avaliacao = ? WHERE id_livro = ?";
+    private static final String SQL_VENDAS = "INSERT INTO TB_Livro_Vendas (id_livro, qt_compras, qt_alugueis) "
+            + "VALUES (?, ?, ?)";
+    // Fora do modelo JPA: só o gerador lê e escreve
+    private static final String SQL_TABELA_CONCLUSAO = "CREATE TABLE IF NOT EXISTS TB_Dados_Sinteticos ("
+            + "semente BIGINT NOT NULL, livros INT NOT NULL, clientes INT NOT NULL, compras INT NOT NULL, "
+            + "avaliacoes INT NOT NULL, concluido_em TIMESTAMP NOT NULL)";
+    private static final String SQL_CONCLUSAO = "INSERT INTO TB_Dados_Sinteticos (semente, livros, clientes, "
+            + "compras, avaliacoes, concluido_em) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final int livros;
+    private final int clientes;
+    private final int compras;
+    private final int avaliacoes;
+    private final int threads;
+    private final int lote;
+    private final long semente;
+    private final double expoenteZipf;
+    private final int dias;
+    private final String senha;
+
+    public GeradorDadosSinteticos(DataSource dataSource, PasswordEncoder passwordEncoder,
+                                  @Value("${dados.sinteticos.livros:100000}") int livros,
+                                  @Value("${dados.sinteticos.clientes:200000}") int clientes,
+                                  @Value("${dados.sinteticos.compras:1000000}") int compras,
+                                  @Value("${dados.sinteticos.avaliacoes:300000}") int avaliacoes,
+                                  @Value("${dados.sinteticos.threads:0}") int threads,
+                                  @Value("${dados.sinteticos.lote:1000}") int lote,
+                                  @Value("${dados.sinteticos.semente:42}") long semente,
+                                  @Value("${dados.sinteticos.zipf-expoente:1.1}") double expoenteZipf,
+                                  @Value("${dados.sinteticos.dias:730}") int dias,
+                                  @Value("${dados.sinteticos.senha:cliente123}") String senha) {
+        if (livros < 1 || clientes < 1 || compras < 0 || avaliacoes < 0) {
+            throw new IllegalStateException("dados.sinteticos: livros e clientes devem ser positivos");
+        }
+        if (avaliacoes > (long) livros * clientes / 2) {
+            throw new IllegalStateException("dados.sinteticos.avaliacoes acima da metade dos pares cliente/livro possíveis");
+        }
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.livros = livros;
+        this.clientes = clientes;
+        this.compras = compras;
+        this.avaliacoes = avaliacoes;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.lote = Math.max(1, lote);
+        this.semente = semente;
+        this.expoenteZipf = expoenteZipf;
+        this.dias = Math.max(1, dias);
+        this.senha = senha;
+    }
+
+    /**
+     * Gera e grava a base inteira. Falhas interrompem a carga com o que já foi confirmado em cada lote.
+     */
+    public void gerar() {
+        if (jaGerado()) {
+            log.info("Base sintética já presente (TB_Dados_Sinteticos); geração ignorada");
+            return;
+        }
+        if (contar("SELECT COUNT(*) FROM TB_Pessoa WHERE email = 'cliente1" + DOMINIO_EMAIL + "'") > 0) {
+            throw new IllegalStateException("Base sintética incompleta: há clientes sintéticos sem o registro de "
+                    + "conclusão em TB_Dados_Sinteticos (geração interrompida); recrie o banco antes de gerar de novo");
+        }
+        log.info("Gerando base sintética: {} livros, {} clientes, {} compras, {} avaliações em {} threads",
+                livros, clientes, compras, avaliacoes, threads);
+        long inicio = System.nanoTime();
+        String hashSenha = passwordEncoder.encode(senha);
+        AtomicInteger sequencia = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "dados-sinteticos-" + sequencia.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            LocalDate hoje = LocalDate.now();
+            long[] idsLivros = new long[livros];
+            boolean[] alugavel = new boolean[livros];
+            medir("livros", livros, () -> inserirLivros(executor, idsLivros, alugavel));
+            long[] idsClientes = new long[clientes];
+            medir("clientes", clientes, () -> inserirClientes(executor, idsClientes, hashSenha));
+
+            SplittableRandom random = new SplittableRandom(semente);
+            Zipf popularidade = new Zipf(livros, expoenteZipf, random);
+            Zipf frequencia = new Zipf(clientes, 0.5, random);
+
+            AtomicLongArray vendas = new AtomicLongArray(livros * 2);
+            medir("compras", compras, () -> inserirCompras(executor, idsLivros, alugavel, idsClientes,
+                    popularidade, frequencia, vendas, hoje));
+            AtomicLongArray somaDecimos = new AtomicLongArray(livros);
+            AtomicIntegerArray quantidade = new AtomicIntegerArray(livros);
+            medir("avaliações", avaliacoes, () -> inserirAvaliacoes(executor, idsLivros, idsClientes,
+                    popularidade, somaDecimos, quantidade, hoje));
+            medir("agregados", livros, () -> gravarAgregados(executor, idsLivros, somaDecimos, quantidade, vendas));
+            registrarConclusao();
+        } finally {
+            executor.shutdownNow();
+        }
+        long totalMs = (System.nanoTime() - inicio) / 1_000_000;
+        long linhas = (long) livros + clientes * 2L + compras + avaliacoes;
+        log.info("Base sintética gerada em {} s ({} linhas/s)", totalMs / 1000,
+                totalMs > 0 ? linhas * 1000 / totalMs : linhas);
+    }
+
+    private boolean jaGerado() {
+        try (Connection conexao = dataSource.getConnection();
+             Statement st = conexao.createStatement()) {
+            st.execute(SQL_TABELA_CONCLUSAO);
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM TB_Dados_Sinteticos")) {
+                return rs.next() && rs.getLong(1) > 0;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao verificar a base sintética", e);
+        }
+    }
+
+    /**
+     * Última escrita da geração: só existe quando todas as etapas foram confirmadas.
+     */
+    private void registrarConclusao() {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement ps = conexao.prepareStatement(SQL_CONCLUSAO)) {
+            ps.setLong(1, semente);
+            ps.setInt(2, livros);
+            ps.setInt(3, clientes);
+            ps.setInt(4, compras);
+            ps.setInt(5, avaliacoes);
+            ps.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao registrar a conclusão da base sintética", e);
+        }
+    }
+
+    private void inserirLivros(ExecutorService executor, long[] ids, boolean[] alugavel) {
+        LocalDateTime agora = LocalDateTime.now();
+        emParalelo(executor, 1, livros, (conexao, de, ate, random) -> {
+            try (PreparedStatement ps = conexao.prepareStatement(SQL_LIVRO, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement psSinopse = conexao.prepareStatement(SQL_SINOPSE)) {
+                int proximo = de;
+                // Sinopses do lote, gravadas comprimidas depois que o banco devolve os ids dos livros
+                List<byte[]> sinopses = new ArrayList<>(lote);
+                for (int i = de; i < ate; i++) {
+                    String sinopse = frase(random, 40 + random.nextInt(60));
+                    sinopses.add(TextoComprimidoConverter.comprimir(sinopse));
+                    BigDecimal vlCompra = BigDecimal.valueOf(1990 + random.nextInt(130) * 100L, 2);
+                    alugavel[i] = random.nextInt(10) < 6;
+                    int ano = Math.max(1900, 2024 - (int) (random.nextDouble() * random.nextDouble() * 120));
+                    ps.setString(1, TITULO_INICIO[random.nextInt(TITULO_INICIO.length)] + " "
+                            + TITULO_MEIO[random.nextInt(TITULO_MEIO.length)]
+                            + TITULO_FIM[random.nextInt(TITULO_FIM.length)]);
+                    ps.setString(2, nomeCompleto(random));
+                    ps.setDate(3, Date.valueOf(LocalDate.of(ano, 1 + random.nextInt(12), 1 + random.nextInt(28))));
+                    ps.setString(4, GENEROS[sortear(PESOS_GENEROS, random)]);
+                    ps.setBigDecimal(5, vlCompra);
+                    if (alugavel[i]) {
+                        ps.setBigDecimal(6, vlCompra.divide(BigDecimal.valueOf(5), 2, RoundingMode.HALF_UP));
+                    } else {
+                        ps.setNull(6, Types.DECIMAL);
+                    }
+                    ps.setString(7, sinopse.length() > 160 ? sinopse.substring(0, sinopse.lastIndexOf(' ', 160)) + "..." : sinopse);
+                    ps.setString(8, "func@livraria.com");
+                    ps.setString(9, "FUNCIONARIO");
+                    ps.setTimestamp(10, Timestamp.valueOf(agora.minusMinutes(random.nextInt(dias * 24 * 60))));
+                    ps.addBatch();
+                    if ((i - de + 1) % lote == 0 || i == ate - 1) {
+                        ps.executeBatch();
+                        int inicioLote = proximo;
+                        proximo = lerChaves(ps, ids, proximo, i + 1);
+                        for (int k = 0; k < sinopses.size(); k++) {
+                            psSinopse.setLong(1, ids[inicioLote + k]);
+                            psSinopse.setBytes(2, sinopses.get(k));
+                            psSinopse.addBatch();
+                        }
+                        psSinopse.executeBatch();
+                        sinopses.clear();
+                        conexao.commit();
+                    }
+                }
+            }
+        });
+    }
+
+    private void inserirClientes(ExecutorService executor, long[] ids, String hashSenha) {
+        LocalDateTime agora = LocalDateTime.now();
+        emParalelo(executor, 2, clientes, (conexao, de, ate, random) -> {
+            try (PreparedStatement pessoa = conexao.prepareStatement(SQL_PESSOA, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement cliente = conexao.prepareStatement(SQL_CLIENTE)) {
+                int proximo = de;
+                for (int i = de; i < ate; i++) {
+                    pessoa.setString(1, nomeCompleto(random));
+                    pessoa.setString(2, "9" + String.format("%010d", i + 1));
+                    pessoa.setString(3, "cliente" + (i + 1) + DOMINIO_EMAIL);
+                    pessoa.setString(4, hashSenha);
+                    pessoa.setDate(5, Date.valueOf(LocalDate.of(1950 + random.nextInt(56), 1 + random.nextInt(12), 1 + random.nextInt(28))));
+                    pessoa.setString(6, RUAS[random.nextInt(RUAS.length)] + ", " + (1 + random.nextInt(3000)));
+                    pessoa.setString(7, "11" + (900_000_000 + random.nextInt(100_000_000)));
+                    pessoa.setString(8, random.nextBoolean() ? "Feminino" : "Masculino");
+                    pessoa.addBatch();
+                    if ((i - de + 1) % lote == 0 || i == ate - 1) {
+                        pessoa.executeBatch();
+                        int inicioLote = proximo;
+                        proximo = lerChaves(pessoa, ids, proximo, i + 1);
+                        for (int j = inicioLote; j < proximo; j++) {
+                            cliente.setLong(1, ids[j]);
+                            cliente.setTimestamp(2, Timestamp.valueOf(agora.minusMinutes(random.nextInt(dias * 24 * 60))));
+                            cliente.addBatch();
+                        }
+                        cliente.executeBatch();
+                        conexao.commit();
+                    }
+                }
+            }
+        });
+    }
+
+    private void inserirCompras(ExecutorService executor, long[] idsLivros, boolean[] alugavel, long[] idsClientes,
+                                Zipf popularidade, Zipf frequencia, AtomicLongArray vendas, LocalDate hoje) {
+        emParalelo(executor, 3, compras, (conexao, de, ate, random) -> {
+            try (PreparedStatement ps = conexao.prepareStatement(SQL_COMPRA)) {
+                for (int i = de; i < ate; i++) {
+                    int livro = popularidade.sortear(random);
+                    boolean aluguel = alugavel[livro] && random.nextInt(100) < 35;
+                    LocalDate inicio = hoje.minusDays(random.nextInt(dias));
+                    LocalDate fim = aluguel ? inicio.plusDays(new int[] { 7, 14, 30 }[random.nextInt(3)]) : inicio;
+                    String status;
+                    if (random.nextInt(100) < 5) {
+                        status = "CANCELADA";
+                    } else if (!aluguel || fim.isBefore(hoje)) {
+                        status = "FINALIZADA";
+                    } else {
+                        status = random.nextInt(10) == 0 ? "PENDENTE" : "EM_ANDAMENTO";
+                    }
+                    if (!"CANCELADA".equals(status)) {
+                        vendas.incrementAndGet(livro * 2 + (aluguel ? 1 : 0));
+                    }
+                    ps.setLong(1, idsLivros[livro]);
+                    ps.setLong(2, idsClientes[frequencia.sortear(random)]);
+                    ps.setDate(3, Date.valueOf(inicio));
+                    ps.setDate(4, Date.valueOf(fim));
+                    ps.setString(5, status);
+                    ps.setString(6, aluguel ? "ALUGUEL" : "COMPRA");
+                    ps.setString(7, PAGAMENTOS[sortear(PESOS_PAGAMENTOS, random)]);
+                    ps.addBatch();
+                    if ((i - de + 1) % lote == 0 || i == ate - 1) {
+                        ps.executeBatch();
+                        conexao.commit();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * As faixas são de clientes, então a unicidade (cliente, livro) é verificada localmente em cada uma.
+     */
+    private void inserirAvaliacoes(ExecutorService executor, long[] idsLivros, long[] idsClientes, Zipf popularidade,
+                                   AtomicLongArray somaDecimos, AtomicIntegerArray quantidade, LocalDate hoje) {
+        if (avaliacoes == 0) return;
+        emParalelo(executor, 4, clientes, (conexao, de, ate, random) -> {
+            int total = (int) ((long) avaliacoes * ate / clientes - (long) avaliacoes * de / clientes);
+            Set<Long> pares = new HashSet<>(total * 2);
+            try (PreparedStatement ps = conexao.prepareStatement(SQL_AVALIACAO)) {
+                int pendentes = 0;
+                for (int n = 0; n < total; n++) {
+                    int cliente;
+                    int livro;
+                    do {
+                        cliente = de + random.nextInt(ate - de);
+                        livro = popularidade.sortear(random);
+                    } while (!pares.add((long) cliente * livros + livro));
+                    int decimos = 10 + sortear(PESOS_NOTAS, random) * 5;
+                    somaDecimos.addAndGet(livro, decimos);
+                    quantidade.incrementAndGet(livro);
+                    ps.setLong(1, idsClientes[cliente]);
+                    ps.setLong(2, idsLivros[livro]);
+                    ps.setBigDecimal(3, BigDecimal.valueOf(decimos, 1));
+                    ps.setDate(4, Date.valueOf(hoje.minusDays(random.nextInt(dias))));
+                    ps.addBatch();
+                    if (++pendentes == lote || n == total - 1) {
+                        ps.executeBatch();
+                        conexao.commit();
+                        pendentes = 0;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Grava soma/quantidade/média das avaliações nos livros e, se a tabela de vendas já estiver em uso,
+     * os contadores das compras geradas. Com TB_Livro_Vendas vazia, o ranking a preenche a partir de
+     * TB_Compra na subida.
+     */
+    private void gravarAgregados(ExecutorService executor, long[] idsLivros, AtomicLongArray somaDecimos,
+                                 AtomicIntegerArray quantidade, AtomicLongArray vendas) {
+        boolean gravarVendas = contar("SELECT COUNT(*) FROM TB_Livro_Vendas") > 0;
+        emParalelo(executor, 5, livros, (conexao, de, ate, random) -> {
+            try (PreparedStatement agregados = conexao.prepareStatement(SQL_AGREGADOS);
+                 PreparedStatement contadores = conexao.prepareStatement(SQL_VENDAS)) {
+                int pendentes = 0;
+                for (int i = de; i < ate; i++) {
+                    int qt = quantidade.get(i);
+                    if (qt > 0) {
+                        BigDecimal soma = BigDecimal.valueOf(somaDecimos.get(i), 1);
+                        agregados.setBigDecimal(1, soma);
+                        agregados.setInt(2, qt);
+                        agregados.setBigDecimal(3, soma.divide(BigDecimal.valueOf(qt), 1, RoundingMode.HALF_UP));
+                        agregados.setLong(4, idsLivros[i]);
+                        agregados.addBatch();
+                        pendentes++;
+                    }
+                    long vendidos = vendas.get(i * 2);
+                    long alugados = vendas.get(i * 2 + 1);
+                    if (gravarVendas && vendidos + alugados > 0) {
+                        contadores.setLong(1, idsLivros[i]);
+                        contadores.setLong(2, vendidos);
+                        contadores.setLong(3, alugados);
+                        contadores.addBatch();
+                        pendentes++;
+                    }
+                    if (pendentes >= lote || i == ate - 1) {
+                        agregados.executeBatch();
+                        contadores.executeBatch();
+                        conexao.commit();
+                        pendentes = 0;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Divide [0, total) em faixas (algumas por thread) e executa cada uma com conexão e gerador próprios.
+     * O gerador de cada faixa deriva da semente, da etapa e do índice da faixa.
+     */
+    private void emParalelo(ExecutorService executor, int etapa, int total, TarefaFaixa tarefa) {
+        int faixas = Math.max(1, Math.min(threads * 4, total / lote));
+        List<Future<?>> futuros = new ArrayList<>(faixas);
+        for (int f = 0; f < faixas; f++) {
+            int de = (int) ((long) total * f / faixas);
+            int ate = (int) ((long) total * (f + 1) / faixas);
+            SplittableRandom random = new SplittableRandom(semente * 1_000_003L + etapa * 10_007L + f);
+            futuros.add(executor.submit(() -> {
+                try (Connection conexao = dataSource.getConnection()) {
+                    conexao.setAutoCommit(false);
+                    tarefa.executar(conexao, de, ate, random);
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (ExecutionException e) {
+            futuros.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Falha ao gravar a base sintética", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuros.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Geração da base sintética interrompida", e);
+        }
+    }
+
+    private void medir(String etapa, int linhas, Runnable acao) {
+        long inicio = System.nanoTime();
+        acao.run();
+        log.info("Base sintética: {} {} em {} ms", linhas, etapa, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private long contar(String sql) {
+        try (Connection conexao = dataSource.getConnection();
+             Statement st = conexao.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao consultar a base sintética", e);
+        }
+    }
+
+    /**
+     * Copia as chaves geradas pelo último lote para {@code ids} a partir de {@code posicao}.
+     */
+    private static int lerChaves(PreparedStatement ps, long[] ids, int posicao, int esperado) throws SQLException {
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            while (rs.next()) {
+                ids[posicao++] = rs.getLong(1);
+            }
+        }
+        if (posicao != esperado) {
+            throw new IllegalStateException("O driver não devolveu as chaves geradas do lote");
+        }
+        return posicao;
+    }
+
+    private static String nomeCompleto(SplittableRandom random) {
+        return NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+    }
+
+    private static String frase(SplittableRandom random, int palavras) {
+        StringBuilder sb = new StringBuilder(palavras * 8);
+        for (int i = 0; i < palavras; i++) {
+            String palavra = PALAVRAS_SINOPSE[random.nextInt(PALAVRAS_SINOPSE.length)];
+            if (i == 0) {
+                sb.append(Character.toUpperCase(palavra.charAt(0))).append(palavra, 1, palavra.length());
+            } else {
+                sb.append(' ').append(palavra);
+            }
+        }
+        return sb.append('.').toString();
+    }
+
+    private static int[] acumular(int... pesos) {
+        int[] acumulado = new int[pesos.length];
+        int soma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            soma += pesos[i];
+            acumulado[i] = soma;
+        }
+        return acumulado;
+    }
+
+    private static int sortear(int[] pesosAcumulados, SplittableRandom random) {
+        int alvo = random.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        int i = Arrays.binarySearch(pesosAcumulados, alvo + 1);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    @FunctionalInterface
+    private interface TarefaFaixa {
+        void executar(Connection conexao, int de, int ate, SplittableRandom random) throws SQLException;
+    }
+
+    /**
+     * Sorteio com distribuição de Zipf: o item de posição k tem peso 1/k^s. As posições são embaralhadas
+     * para que os mais populares não sejam sempre os primeiros ids. Somente leitura após a construção.
+     */
+    private static final class Zipf {
+
+        private final double[] acumulado;
+        private final int[] itens;
+
+        Zipf(int n, double expoente, SplittableRandom random) {
+            acumulado = new double[n];
+            double soma = 0;
+            for (int k = 0; k < n; k++) {
+                soma += 1.0 / Math.pow(k + 1, expoente);
+                acumulado[k] = soma;
+            }
+            for (int k = 0; k < n; k++) {
+                acumulado[k] /= soma;
+            }
+            itens = new int[n];
+            for (int k = 0; k < n; k++) {
+                int j = random.nextInt(k + 1);
+                itens[k] = itens[j];
+                itens[j] = k;
+            }
+        }
+
+        int sortear(SplittableRandom random) {
+            int i = Arrays.binarySearch(acumulado, random.nextDouble());
+            return itens[Math.min(i >= 0 ? i : -i - 1, itens.length - 1)];
+        }
+    }
+}
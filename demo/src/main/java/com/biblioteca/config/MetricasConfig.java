@@ -0,0 +1,37 @@
+package com.biblioteca.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.biblioteca.security.CodificadorSenhas;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Métricas além das automáticas do Actuator (HTTP, JVM/GC, Tomcat, Hikari):
+ * {@code @Timed} nos services e gauges dos executores próprios da aplicação.
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Habilita {@code @Timed} (login, criação de compras e avaliações); a tag exception distingue
+     * sucesso ("none") de falha.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Pool do BCrypt: threads ativas, fila e tarefas concluídas (executor.* com name=hash-senha).
+     */
+    @Bean
+    public MeterBinder metricasPoolHashSenha(CodificadorSenhas codificadorSenhas) {
+        return new ExecutorServiceMetrics(codificadorSenhas.getExecutor(), "hash-senha", Tags.empty());
+    }
+}
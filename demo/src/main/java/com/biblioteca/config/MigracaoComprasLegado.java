@@ -0,0 +1,39 @@
+package com.biblioteca.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.model.TipoCompra;
+import com.biblioteca.repository.CompraRepository;
+
+/**
+ * Normaliza compras gravadas antes de TB_Compra.tipo existir: preenche o tipo (ALUGUEL quando o livro
+ * tem preço de aluguel, COMPRA nos demais casos) e finaliza as COMPRAs que ficaram PENDENTE.
+ *
+ * Roda uma única vez, numa transação, antes do ApplicationReadyEvent, de modo que a carga inicial dos
+ * contadores de vendas já encontra os dados normalizados. Depois disso não sobram registros antigos e
+ * as próximas subidas param na verificação inicial.
+ */
+@Component
+public class MigracaoComprasLegado implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoComprasLegado.class);
+
+    @Autowired
+    private CompraRepository compraRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        if (!compraRepository.existeLegado(TipoCompra.COMPRA)) return;
+        int alugueis = compraRepository.preencherTipoAluguelLegado(TipoCompra.ALUGUEL);
+        int compras = compraRepository.preencherTipoCompraLegado(TipoCompra.COMPRA);
+        int finalizadas = compraRepository.finalizarComprasPendentesLegado(TipoCompra.COMPRA);
+        log.info("Compras antigas normalizadas: {} aluguéis, {} compras, {} compras pendentes finalizadas",
+            alugueis, compras, finalizadas);
+    }
+}
@@ -0,0 +1,75 @@
+package com.biblioteca.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.model.TextoComprimidoConverter;
+
+/**
+ * Copia as sinopses da antiga coluna TB_Livro.sinopse (TEXT) para TB_Livro_Sinopse, comprimidas.
+ * O ddl-auto=update não remove colunas, então bases criadas antes da mudança ainda a têm; nas demais
+ * a consulta falha e nada é feito. A cópia só insere livros ainda ausentes em TB_Livro_Sinopse e pode
+ * rodar a cada subida. Roda antes do ApplicationReadyEvent, a tempo da reconstrução do índice de busca.
+ *
+ * A remoção da coluna é um passo separado e explícito ({@code sinopses.migracao.remover-coluna=true}):
+ * durante um deploy gradual as instâncias antigas ainda leem e gravam a coluna, então ela só deve ser
+ * removida depois que todas estiverem na versão nova (e sem volta: o rollback perde a coluna).
+ */
+@Component
+public class MigracaoSinopses implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoSinopses.class);
+
+    private static final int TAMANHO_LOTE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${sinopses.migracao.remover-coluna:false}")
+    private boolean removerColuna;
+
+    @Override
+    public void run(String... args) {
+        long ultimoId = 0;
+        int migradas = 0;
+        try {
+            while (true) {
+                // Livros que já têm linha em TB_Livro_Sinopse ficam de fora (execução interrompida antes)
+                List<Object[]> lote = jdbcTemplate.query(
+                    "SELECT l.id_livro, l.sinopse FROM TB_Livro l WHERE l.id_livro > ? AND l.sinopse IS NOT NULL "
+                        + "AND NOT EXISTS (SELECT 1 FROM TB_Livro_Sinopse s WHERE s.id_livro = l.id_livro) "
+                        + "ORDER BY l.id_livro LIMIT " + TAMANHO_LOTE,
+                    (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2) },
+                    ultimoId);
+                if (lote.isEmpty()) break;
+                List<Object[]> linhas = lote.stream()
+                    .filter(l -> !((String) l[1]).isBlank())
+                    .map(l -> new Object[] { l[0], TextoComprimidoConverter.comprimir((String) l[1]) })
+                    .toList();
+                jdbcTemplate.batchUpdate("INSERT INTO TB_Livro_Sinopse (id_livro, conteudo) VALUES (?, ?)", linhas);
+                migradas += linhas.size();
+                ultimoId = (Long) lote.get(lote.size() - 1)[0];
+            }
+        } catch (BadSqlGrammarException e) {
+            // Sem a coluna antiga: base nova ou já migrada
+            log.debug("TB_Livro.sinopse ausente, nada a migrar");
+            return;
+        }
+        log.info("{} sinopses copiadas para TB_Livro_Sinopse (comprimidas)", migradas);
+        if (removerColuna) {
+            jdbcTemplate.execute("ALTER TABLE TB_Livro DROP COLUMN sinopse");
+            log.info("Coluna TB_Livro.sinopse removida (sinopses.migracao.remover-coluna=true)");
+        } else if (migradas > 0) {
+            log.info("Coluna TB_Livro.sinopse mantida; remova com sinopses.migracao.remover-coluna=true "
+                + "quando nenhuma instância antiga estiver rodando");
+        }
+    }
+}
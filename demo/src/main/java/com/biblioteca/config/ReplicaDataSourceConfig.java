@@ -0,0 +1,81 @@
+package com.biblioteca.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplica de leitura opcional: só é ativada quando {@code datasource.replica.url} está definida.
+ * Sem ela, a aplicação usa o DataSource único configurado pelo Spring Boot.
+ *
+ * Credenciais e driver da réplica, quando omitidos, são os mesmos do primário.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primario");
+        return ds;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica(DataSourceProperties properties,
+                                              @Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:}") String username,
+                                              @Value("${datasource.replica.password:}") String password,
+                                              @Value("${datasource.replica.driver-class-name:}") String driver) {
+        HikariDataSource ds = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username.isEmpty() ? properties.determineUsername() : username)
+            .password(password.isEmpty() ? properties.determinePassword() : password)
+            .driverClassName(driver.isEmpty() ? properties.determineDriverClassName() : driver)
+            .build();
+        ds.setPoolName("replica");
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    /**
+     * DataSource usado por JPA e JdbcTemplate. O proxy preguiçoso garante que o roteamento
+     * aconteça no primeiro SQL da transação, quando o flag somente leitura já está disponível.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario, HikariDataSource dataSourceReplica,
+                                 MeterRegistry meterRegistry) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(dataSourcePrimario, dataSourceReplica, meterRegistry);
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    /**
+     * Por padrão o Hibernate segura a conexão até fechar a sessão, que com open-in-view dura a
+     * requisição inteira; devolvê-la ao fim de cada transação permite que a transação seguinte
+     * seja roteada de novo.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAposTransacao() {
+        return props -> props.put(AvailableSettings.CONNECTION_HANDLING,
+            "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
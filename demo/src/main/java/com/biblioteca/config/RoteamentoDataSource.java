@@ -0,0 +1,70 @@
+package com.biblioteca.config;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Envia conexões de transações somente leitura para a réplica e todo o resto para o primário.
+ *
+ * A decisão é tomada quando a conexão física é obtida; por isso o bean exposto envolve esta classe
+ * em um {@code LazyConnectionDataSourceProxy}, que adia a obtenção até o primeiro comando SQL,
+ * depois que a transação já foi marcada como somente leitura.
+ *
+ * Leia o que escreveu: depois que a requisição HTTP abre uma transação de escrita, as leituras
+ * seguintes da mesma requisição continuam no primário, evitando o atraso de replicação.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+    public static final String REPLICA = "replica";
+
+    private static final String ATRIBUTO_ESCREVEU = RoteamentoDataSource.class.getName() + ".ESCREVEU";
+
+    private final AtomicLong conexoesPrimario = new AtomicLong();
+    private final AtomicLong conexoesReplica = new AtomicLong();
+    private final AtomicLong leiturasAposEscrita = new AtomicLong();
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(PRIMARIO, primario, REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+
+        FunctionCounter.builder("datasource.roteamento.conexoes", conexoesPrimario, AtomicLong::get)
+            .tag("destino", PRIMARIO).register(meterRegistry);
+        FunctionCounter.builder("datasource.roteamento.conexoes", conexoesReplica, AtomicLong::get)
+            .tag("destino", REPLICA).register(meterRegistry);
+        FunctionCounter.builder("datasource.roteamento.leituras.apos.escrita", leiturasAposEscrita, AtomicLong::get)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean emTransacao = TransactionSynchronizationManager.isActualTransactionActive();
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+
+        if (!emTransacao || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (emTransacao && requisicao != null) {
+                requisicao.setAttribute(ATRIBUTO_ESCREVEU, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+            conexoesPrimario.incrementAndGet();
+            return PRIMARIO;
+        }
+        if (requisicao != null && requisicao.getAttribute(ATRIBUTO_ESCREVEU, RequestAttributes.SCOPE_REQUEST) != null) {
+            leiturasAposEscrita.incrementAndGet();
+            conexoesPrimario.incrementAndGet();
+            return PRIMARIO;
+        }
+        conexoesReplica.incrementAndGet();
+        return REPLICA;
+    }
+}
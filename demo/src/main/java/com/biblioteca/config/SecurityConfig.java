@@ -9,8 +9,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -20,7 +18,9 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 import java.util.List;
 
+import com.biblioteca.security.CodificadorSenhas;
 import com.biblioteca.security.JwtAuthenticationFilter;
+import com.biblioteca.security.TokenMetricasFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -33,6 +33,9 @@ public class SecurityConfig {
     @Value("${cors.allowed.origins:*}")
     private String allowedOrigins;
 
+    @Value("${metricas.prometheus.token:}")
+    private String tokenPrometheus;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -42,10 +45,14 @@ public class SecurityConfig {
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/livros/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/capas/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/avaliacoes/**").permitAll()
                 .requestMatchers("/", "/index.html", "/pages/**", "/assets/**").permitAll()
                 // Actuator health/info públicos para healthcheck
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
+                // Coletor do Prometheus (token em metricas.prometheus.token) ou administrador
+                .requestMatchers(TokenMetricasFilter.ENDPOINT).hasAnyRole("METRICAS", "ADMIN")
 
                 .requestMatchers(HttpMethod.POST, "/api/compras/**").hasRole("CLIENTE")
                 .requestMatchers(HttpMethod.POST, "/api/avaliacoes/**").hasRole("CLIENTE")
@@ -69,16 +76,27 @@ public class SecurityConfig {
 
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(new TokenMetricasFilter(tokenPrometheus), JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
     
 
+    /**
+     * BCrypt em pool dedicado e limitado; custo calibrado na inicialização quando senha.bcrypt.custo=0.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public CodificadorSenhas passwordEncoder(
+            @Value("${senha.bcrypt.custo:0}") int custo,
+            @Value("${senha.bcrypt.alvo-ms:100}") long alvoMs,
+            @Value("${senha.bcrypt.custo-minimo:10}") int custoMinimo,
+            @Value("${senha.bcrypt.custo-maximo:14}") int custoMaximo,
+            @Value("${senha.hash.threads:0}") int threads,
+            @Value("${senha.hash.fila:64}") int fila,
+            @Value("${senha.hash.timeout-ms:5000}") long timeoutMs) {
+        return new CodificadorSenhas(custo, alvoMs, custoMinimo, custoMaximo, threads, fila, timeoutMs);
     }
 
     @Bean
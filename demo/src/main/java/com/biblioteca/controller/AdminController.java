@@ -1,6 +1,7 @@
 package com.biblioteca.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,6 +20,7 @@ import com.biblioteca.dto.FuncionarioDTO;
 import com.biblioteca.mapper.DtoMapper;
 import com.biblioteca.model.Admin;
 import com.biblioteca.service.AdminService;
+import com.biblioteca.service.FiltroPessoasCadastradas;
 import com.biblioteca.service.FuncionarioService;
 
 import jakarta.validation.Valid;
@@ -32,12 +34,12 @@ public class AdminController {
     @Autowired
     private FuncionarioService funcionarioService;
 
+    @Autowired
+    private FiltroPessoasCadastradas filtroPessoas;
+
     @GetMapping
     public ResponseEntity<List<AdminDTO>> listarTodos() {
-        List<AdminDTO> dtos = adminService.listarTodos().stream()
-            .map(DtoMapper::toAdminDTO)
-            .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(adminService.listarTodos());
     }
 
     @GetMapping("/{id}")
@@ -71,4 +73,12 @@ public class AdminController {
             .map(f -> ResponseEntity.ok(DtoMapper.toFuncionarioDTO(f)))
             .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    /**
+     * Reconstrói o filtro de Bloom de emails (ex.: após muitas exclusões) e devolve as estatísticas da carga.
+     */
+    @PostMapping("/manutencao/filtro-pessoas/reconstruir")
+    public ResponseEntity<Map<String, Object>> reconstruirFiltroPessoas() {
+        return ResponseEntity.ok(filtroPessoas.reconstruir());
+    }
+}
@@ -3,6 +3,7 @@ package com.biblioteca.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,9 +12,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.biblioteca.cache.CacheRespostas;
 import com.biblioteca.model.Avaliacao;
 import com.biblioteca.dto.AvaliacaoDTO;
 import com.biblioteca.mapper.DtoMapper;
@@ -28,6 +31,9 @@ public class AvaliacaoController {
     @Autowired
     private AvaliacaoService avaliacaoService;
 
+    @Autowired
+    private CacheRespostas cacheRespostas;
+
     @GetMapping
     public ResponseEntity<List<AvaliacaoDTO>> listarTodas() {
         List<AvaliacaoDTO> dtos = avaliacaoService.listarTodas().stream()
@@ -44,11 +50,12 @@ public class AvaliacaoController {
     }
 
     @GetMapping("/livro/{livroId}")
-    public ResponseEntity<List<AvaliacaoDTO>> buscarPorLivro(@PathVariable Long livroId) {
-        List<AvaliacaoDTO> avaliacoes = avaliacaoService.buscarPorLivro(livroId).stream()
-                .map(DtoMapper::toAvaliacaoDTO)
-                .toList();
-        return ResponseEntity.ok(avaliacoes);
+    public ResponseEntity<byte[]> buscarPorLivro(@PathVariable Long livroId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return cacheRespostas.responder(CacheRespostas.avaliacoesDoLivro(livroId), acceptEncoding,
+                () -> avaliacaoService.buscarPorLivro(livroId).stream()
+                        .map(DtoMapper::toAvaliacaoDTO)
+                        .toList());
     }
 
     @GetMapping("/cliente/{clienteId}")
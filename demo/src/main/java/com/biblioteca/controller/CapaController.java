@@ -0,0 +1,163 @@
+package com.biblioteca.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.biblioteca.service.ArmazenamentoCapas;
+import com.biblioteca.service.MiniaturasCapas;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Entrega das capas armazenadas por {@link ArmazenamentoCapas}, sem banco e sem copiar o arquivo
+ * para o heap: no Tomcat o envio é delegado ao sendfile do conector; nos demais casos usa
+ * {@link FileChannel#transferTo}. Atende um intervalo (Range: bytes=a-b) por requisição e, como o
+ * nome é o hash do conteúdo, responde com cache imutável de um ano e ETag = hash.
+ * As miniaturas de {@link MiniaturasCapas} seguem o mesmo caminho; a ainda não gerada redireciona
+ * (307, sem cache) para a capa original.
+ */
+@RestController
+@RequestMapping("/api/capas")
+public class CapaController {
+
+    private static final String CACHE_IMUTAVEL = "public, max-age=31536000, immutable";
+
+    // Atributos de request do Tomcat para envio por sendfile após o fim do servlet
+    private static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    private final ArmazenamentoCapas armazenamentoCapas;
+    private final MiniaturasCapas miniaturasCapas;
+
+    public CapaController(ArmazenamentoCapas armazenamentoCapas, MiniaturasCapas miniaturasCapas) {
+        this.armazenamentoCapas = armazenamentoCapas;
+        this.miniaturasCapas = miniaturasCapas;
+    }
+
+    @GetMapping("/miniaturas/{arquivo:.+}")
+    public void servirMiniatura(@PathVariable String arquivo, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path caminho = miniaturasCapas.localizar(arquivo);
+        if (caminho != null) {
+            enviar(caminho, "\"" + arquivo.substring(0, arquivo.lastIndexOf('.')) + "\"", "image/jpeg",
+                    request, response);
+            return;
+        }
+        String original = miniaturasCapas.original(arquivo);
+        if (original == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.setHeader(HttpHeaders.LOCATION, original);
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+    }
+
+    @GetMapping("/{arquivo:.+}")
+    public void servir(@PathVariable String arquivo, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path caminho = armazenamentoCapas.localizar(arquivo);
+        if (caminho == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        enviar(caminho, "\"" + ArmazenamentoCapas.hash(arquivo) + "\"", ArmazenamentoCapas.tipo(arquivo),
+                request, response);
+    }
+
+    /**
+     * Envia o arquivo (ou o intervalo pedido) com cabeçalhos de cache imutável.
+     */
+    private static void enviar(Path caminho, String etag, String tipo, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_IMUTAVEL);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            long inicio = 0;
+            long fim = tamanho - 1;
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (range != null && (ifRange == null || ifRange.equals(etag))) {
+                long[] intervalo = lerIntervalo(range, tamanho);
+                if (intervalo == null) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                    return;
+                }
+                if (intervalo.length == 2) {
+                    inicio = intervalo[0];
+                    fim = intervalo[1];
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fim + "/" + tamanho);
+                }
+            }
+            long quantidade = fim - inicio + 1;
+            response.setContentType(tipo);
+            response.setContentLengthLong(quantidade);
+            if ("HEAD".equals(request.getMethod()) || quantidade == 0) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO))) {
+                request.setAttribute(SENDFILE_ARQUIVO, caminho.toString());
+                request.setAttribute(SENDFILE_INICIO, inicio);
+                request.setAttribute(SENDFILE_FIM, fim + 1);
+                return;
+            }
+            WritableByteChannel saida = Channels.newChannel(response.getOutputStream());
+            long posicao = inicio;
+            while (posicao <= fim) {
+                posicao += canal.transferTo(posicao, fim + 1 - posicao, saida);
+            }
+        }
+    }
+
+    /**
+     * Interpreta "bytes=a-b", "bytes=a-" e "bytes=-n". Devolve {início, fim}, um array vazio quando o
+     * cabeçalho deve ser ignorado (unidade desconhecida, vários intervalos ou sintaxe inválida) e null
+     * quando o intervalo não cabe no arquivo (416).
+     */
+    private static long[] lerIntervalo(String range, long tamanho) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) return new long[0];
+        String spec = range.substring(6).trim();
+        int traco = spec.indexOf('-');
+        if (traco < 0) return new long[0];
+        try {
+            String a = spec.substring(0, traco).trim();
+            String b = spec.substring(traco + 1).trim();
+            if (a.isEmpty()) {
+                long sufixo = Long.parseLong(b);
+                if (sufixo <= 0 || tamanho == 0) return null;
+                return new long[] { Math.max(0, tamanho - sufixo), tamanho - 1 };
+            }
+            long inicio = Long.parseLong(a);
+            long fim = b.isEmpty() ? tamanho - 1 : Math.min(Long.parseLong(b), tamanho - 1);
+            if (inicio >= tamanho) return null;
+            if (fim < inicio) return new long[0];
+            return new long[] { inicio, fim };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -30,10 +30,7 @@ public class ClienteController {
 
     @GetMapping
     public ResponseEntity<List<ClienteDTO>> listarTodos() {
-        List<ClienteDTO> dtos = clienteService.listarTodos().stream()
-                .map(DtoMapper::toClienteDTO)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(clienteService.listarTodos());
     }
 
     @GetMapping("/{id}")
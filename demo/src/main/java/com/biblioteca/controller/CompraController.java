@@ -1,8 +1,10 @@
 package com.biblioteca.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,7 +18,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.biblioteca.model.Compra;
+import com.biblioteca.model.TipoCompra;
 import com.biblioteca.dto.CompraDTO;
+import com.biblioteca.dto.FiltroCompraDTO;
+import com.biblioteca.dto.LoteCompraDTO;
+import com.biblioteca.dto.PaginaDTO;
+import com.biblioteca.exception.BusinessException;
 import com.biblioteca.mapper.DtoMapper;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,15 +35,46 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/compras")
 public class CompraController {
 
+    private static final int LIMITE_PADRAO = 50;
+    private static final int LIMITE_MAXIMO = 200;
+
     @Autowired
     private CompraService compraService;
 
+    /**
+     * Filtra no banco e responde com uma página keyset (mais recentes primeiro) e o cursor da
+     * próxima página. Sem parâmetros, é a primeira página sem filtros, com o limite padrão.
+     */
     @GetMapping
-    public ResponseEntity<List<CompraDTO>> listarTodas() {
-        List<CompraDTO> dtos = compraService.listarTodas().stream()
+    public ResponseEntity<PaginaDTO<CompraDTO>> listarTodas(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Long livroId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicioDe,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicioAte,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fimDe,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fimAte,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        String statusFiltro = (status == null || status.isBlank()) ? null : status.trim().toUpperCase();
+        TipoCompra tipoCompra = TipoCompra.fromString(tipo);
+        if (tipo != null && !tipo.isBlank() && tipoCompra == null) {
+            throw new BusinessException("Tipo inválido: " + tipo);
+        }
+        FiltroCompraDTO filtro = new FiltroCompraDTO(statusFiltro, tipoCompra, clienteId, livroId,
+                inicioDe, inicioAte, fimDe, fimAte);
+
+        int limite = limit == null ? LIMITE_PADRAO : Math.max(1, Math.min(limit, LIMITE_MAXIMO));
+        List<Compra> compras = compraService.listarFiltradas(filtro, after, limite);
+
+        boolean temMais = compras.size() > limite;
+        List<CompraDTO> itens = compras.stream()
+                .limit(limite)
                 .map(DtoMapper::toCompraDTO)
                 .toList();
-        return ResponseEntity.ok(dtos);
+        Long proximoCursor = temMais ? itens.get(itens.size() - 1).getIdCompra() : null;
+        return ResponseEntity.ok(new PaginaDTO<>(itens, proximoCursor, limite, "recentes"));
     }
 
     @GetMapping("/{id}")
@@ -68,6 +106,23 @@ public class CompraController {
         return ResponseEntity.status(HttpStatus.CREATED).body(DtoMapper.toCompraDTO(compraSalva));
     }
 
+    /**
+     * Checkout do carrinho: cria todas as compras do cliente autenticado em uma única requisição e
+     * transação. Tudo ou nada: item inválido responde 400 sem gravar nada, com os erros por item
+     * ("errors" com itens[i].campo na validação, ou a mensagem "Item N: ..." para livro inexistente).
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<CompraDTO>> criarLote(@Valid @RequestBody LoteCompraDTO lote) {
+        Long userId = usuarioAutenticado();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        List<CompraDTO> dtos = compraService.criarLote(userId, lote.getItens()).stream()
+                .map(DtoMapper::toCompraDTO)
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(dtos);
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<CompraDTO> atualizarStatus(@PathVariable Long id, @RequestParam String status) {
         Compra compraAtualizada = compraService.atualizarStatus(id, status);
@@ -91,20 +146,7 @@ public class CompraController {
 
     @GetMapping("/minhas")
     public ResponseEntity<List<CompraDTO>> listarMinhasCompras() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        Object details = auth.getDetails();
-        Long userId = null;
-        if (details instanceof java.util.Map) {
-            java.util.Map<?,?> map = (java.util.Map<?,?>) details;
-            Object idObj = map.get("userId");
-            if (idObj instanceof Long) userId = (Long) idObj;
-            else if (idObj instanceof Integer) userId = ((Integer) idObj).longValue();
-        }
-
+        Long userId = usuarioAutenticado();
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -120,4 +162,20 @@ public class CompraController {
         compraService.deletar(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Id da pessoa autenticada, dos detalhes gravados pelo JwtAuthenticationFilter; null sem autenticação.
+     */
+    private static Long usuarioAutenticado() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) return null;
+        Object details = auth.getDetails();
+        if (details instanceof java.util.Map) {
+            java.util.Map<?,?> map = (java.util.Map<?,?>) details;
+            Object idObj = map.get("userId");
+            if (idObj instanceof Long) return (Long) idObj;
+            if (idObj instanceof Integer) return ((Integer) idObj).longValue();
+        }
+        return null;
+    }
 }
\ No newline at end of file
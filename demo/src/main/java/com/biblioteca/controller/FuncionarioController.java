@@ -30,10 +30,7 @@ public class FuncionarioController {
 
     @GetMapping
     public ResponseEntity<List<FuncionarioDTO>> listarTodos() {
-        List<FuncionarioDTO> dtos = funcionarioService.listarTodos().stream()
-                .map(DtoMapper::toFuncionarioDTO)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(funcionarioService.listarTodos());
     }
 
     @GetMapping("/{id}")
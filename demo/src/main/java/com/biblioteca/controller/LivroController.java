@@ -1,9 +1,15 @@
 package com.biblioteca.controller;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,14 +17,29 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.biblioteca.cache.CacheRespostas;
+import com.biblioteca.enums.OrdenacaoLivro;
+import com.biblioteca.exception.BusinessException;
 import com.biblioteca.model.Livro;
+import com.biblioteca.model.TipoCompra;
+import com.biblioteca.dto.CapaDTO;
 import com.biblioteca.dto.LivroDTO;
+import com.biblioteca.dto.LivroResumoDTO;
+import com.biblioteca.dto.MaisVendidoDTO;
+import com.biblioteca.dto.PaginaDTO;
+import com.biblioteca.dto.ResultadoBuscaDTO;
 import com.biblioteca.mapper.DtoMapper;
+import com.biblioteca.service.ArmazenamentoCapas;
 import com.biblioteca.service.LivroService;
+import com.biblioteca.service.MiniaturasCapas;
+import com.biblioteca.service.RankingMaisVendidos;
 
 import jakarta.validation.Valid;
 
@@ -26,58 +47,145 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/livros")
 public class LivroController {
 
+    private static final int LIMITE_PADRAO = 20;
+    private static final int LIMITE_MAXIMO = 100;
+
     @Autowired
     private LivroService livroService;
 
+    @Autowired
+    private CacheRespostas cacheRespostas;
+
+    @Autowired
+    private RankingMaisVendidos rankingMaisVendidos;
+
+    @Autowired
+    private ArmazenamentoCapas armazenamentoCapas;
+
+    @Autowired
+    private MiniaturasCapas miniaturasCapas;
+
+    /**
+     * Página keyset de livros e o cursor da próxima página. Sem parâmetros, a primeira página por
+     * título ({@value #LIMITE_PADRAO} livros), servida do cache de respostas; o catálogo inteiro
+     * nunca sai em uma resposta.
+     */
     @GetMapping
-    public ResponseEntity<List<LivroDTO>> listarTodos() {
-        List<LivroDTO> dtos = livroService.listarTodos().stream()
-                .map(DtoMapper::toLivroDTO)
-                .toList();
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<?> listarTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (after == null && limit == null && sort == null) {
+            return cacheRespostas.responder(CacheRespostas.LIVROS_LISTA, acceptEncoding,
+                    () -> pagina(null, LIMITE_PADRAO, OrdenacaoLivro.TITULO));
+        }
+
+        int limite = limit == null ? LIMITE_PADRAO : Math.max(1, Math.min(limit, LIMITE_MAXIMO));
+        return ResponseEntity.ok(pagina(after, limite, OrdenacaoLivro.fromString(sort)));
+    }
+
+    private PaginaDTO<LivroResumoDTO> pagina(Long after, int limite, OrdenacaoLivro ordenacao) {
+        List<LivroResumoDTO> livros = livroService.listarPagina(after, limite, ordenacao);
+        boolean temMais = livros.size() > limite;
+        List<LivroResumoDTO> itens = temMais ? livros.subList(0, limite) : livros;
+        Long proximoCursor = temMais ? itens.get(itens.size() - 1).getIdLivro() : null;
+        return new PaginaDTO<>(itens, proximoCursor, limite, ordenacao.getParametro());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LivroDTO> buscarPorId(@PathVariable Long id) {
-        return livroService.buscarPorId(id)
-                .map(l -> ResponseEntity.ok(DtoMapper.toLivroDTO(l)))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> buscarPorId(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return cacheRespostas.responder(CacheRespostas.livro(id), acceptEncoding,
+                () -> livroService.buscarDetalhe(id).map(this::toLivroDTO).orElse(null));
     }
 
-    @GetMapping("/buscar/titulo")
-    public ResponseEntity<List<LivroDTO>> buscarPorTitulo(@RequestParam String titulo) {
-        List<LivroDTO> dtos = livroService.buscarPorTitulo(titulo).stream()
-                .map(DtoMapper::toLivroDTO)
+    /**
+     * Busca combinada por relevância em título, autor, gênero, resumo e sinopse.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ResultadoBuscaDTO<LivroResumoDTO>> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        int pagina = Math.max(0, page);
+        int tamanho = Math.max(1, Math.min(size, LIMITE_MAXIMO));
+        Page<Livro> resultado = livroService.buscarTexto(q, pagina, tamanho);
+        List<LivroResumoDTO> itens = resultado.getContent().stream()
+                .map(this::toLivroResumoDTO)
                 .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(new ResultadoBuscaDTO<>(itens, resultado.getTotalElements(), pagina, tamanho));
     }
 
-    @GetMapping("/buscar/autor")
-    public ResponseEntity<List<LivroDTO>> buscarPorAutor(@RequestParam String autor) {
-        List<LivroDTO> dtos = livroService.buscarPorAutor(autor).stream()
-                .map(DtoMapper::toLivroDTO)
+    /**
+     * Ranking de mais vendidos a partir dos contadores materializados.
+     * @param tipo COMPRA ou ALUGUEL; ausente soma os dois
+     */
+    @GetMapping("/mais-vendidos")
+    public ResponseEntity<List<MaisVendidoDTO>> maisVendidos(
+            @RequestParam(defaultValue = "4") int limit,
+            @RequestParam(required = false) String tipo) {
+        TipoCompra tipoCompra = TipoCompra.fromString(tipo);
+        if (tipo != null && !tipo.isBlank() && tipoCompra == null) {
+            throw new BusinessException("Tipo inválido: " + tipo);
+        }
+        List<RankingMaisVendidos.Posicao> ranking = rankingMaisVendidos.top(limit, tipoCompra);
+        Map<Long, Livro> livros = livroService.buscarPorIdsNaOrdem(
+                ranking.stream().map(RankingMaisVendidos.Posicao::idLivro).toList()).stream()
+                .collect(Collectors.toMap(Livro::getIdLivro, Function.identity()));
+        List<MaisVendidoDTO> dtos = ranking.stream()
+                .filter(p -> livros.containsKey(p.idLivro()))
+                .map(p -> new MaisVendidoDTO(toLivroResumoDTO(livros.get(p.idLivro())), p.quantidade()))
                 .toList();
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping("/buscar/titulo")
+    public ResponseEntity<List<LivroResumoDTO>> buscarPorTitulo(@RequestParam String titulo) {
+        return ResponseEntity.ok(livroService.buscarPorTitulo(titulo));
+    }
+
+    @GetMapping("/buscar/autor")
+    public ResponseEntity<List<LivroResumoDTO>> buscarPorAutor(@RequestParam String autor) {
+        return ResponseEntity.ok(livroService.buscarPorAutor(autor));
+    }
+
     @GetMapping("/buscar/genero")
-    public ResponseEntity<List<LivroDTO>> buscarPorGenero(@RequestParam String genero) {
-        List<LivroDTO> dtos = livroService.buscarPorGenero(genero).stream()
-                .map(DtoMapper::toLivroDTO)
-                .toList();
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<LivroResumoDTO>> buscarPorGenero(@RequestParam String genero) {
+        return ResponseEntity.ok(livroService.buscarPorGenero(genero));
     }
 
     @PostMapping
     public ResponseEntity<LivroDTO> criar(@Valid @RequestBody Livro livro) {
         Livro livroSalvo = livroService.criar(livro);
-        return ResponseEntity.status(HttpStatus.CREATED).body(DtoMapper.toLivroDTO(livroSalvo));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toLivroDTO(livroSalvo));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<LivroDTO> atualizar(@PathVariable Long id, @Valid @RequestBody Livro livro) {
         Livro livroAtualizado = livroService.atualizar(id, livro);
-        return ResponseEntity.ok(DtoMapper.toLivroDTO(livroAtualizado));
+        return ResponseEntity.ok(toLivroDTO(livroAtualizado));
+    }
+
+    /**
+     * Envia uma capa (multipart, campo "arquivo") e devolve a URL em /api/capas para usar em capaUrl.
+     */
+    @PostMapping(value = "/capas", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CapaDTO> enviarCapa(@RequestPart("arquivo") MultipartFile arquivo) {
+        CapaDTO capa = armazenamentoCapas.salvar(arquivo);
+        // Miniaturas adiantadas: o livro ainda será salvo com esta URL
+        miniaturasCapas.gerar(capa.getUrl());
+        return ResponseEntity.status(HttpStatus.CREATED).body(capa);
+    }
+
+    /**
+     * Envia a capa e já a associa ao livro.
+     */
+    @PostMapping(value = "/{id}/capa", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<LivroDTO> enviarCapaDoLivro(@PathVariable Long id,
+                                                      @RequestPart("arquivo") MultipartFile arquivo) {
+        CapaDTO capa = armazenamentoCapas.salvar(arquivo);
+        return ResponseEntity.ok(toLivroDTO(livroService.atualizarCapa(id, capa.getUrl())));
     }
 
     @DeleteMapping("/{id}")
@@ -85,4 +193,12 @@ public class LivroController {
         livroService.deletar(id);
         return ResponseEntity.noContent().build();
     }
+
+    private LivroDTO toLivroDTO(Livro livro) {
+        return DtoMapper.toLivroDTO(livro, miniaturasCapas.srcset(livro.getCapaUrl()));
+    }
+
+    private LivroResumoDTO toLivroResumoDTO(Livro livro) {
+        return DtoMapper.toLivroResumoDTO(livro, miniaturasCapas.srcset(livro.getCapaUrl()));
+    }
 }
\ No newline at end of file
@@ -3,11 +3,11 @@ package com.biblioteca.dto;
 public class AvaliacaoDTO {
     private final Long idAvaliacao;
     private final ClienteDTO cliente;
-    private final LivroDTO livro;
+    private final LivroResumoDTO livro;
     private final Object nota;
     private final Object dtAvaliacao;
 
-    public AvaliacaoDTO(Long idAvaliacao, ClienteDTO cliente, LivroDTO livro,
+    public AvaliacaoDTO(Long idAvaliacao, ClienteDTO cliente, LivroResumoDTO livro,
                         Object nota, Object dtAvaliacao) {
         this.idAvaliacao = idAvaliacao;
         this.cliente = cliente;
@@ -18,7 +18,7 @@ public class AvaliacaoDTO {
 
     public Long getIdAvaliacao() { return idAvaliacao; }
     public ClienteDTO getCliente() { return cliente; }
-    public LivroDTO getLivro() { return livro; }
+    public LivroResumoDTO getLivro() { return livro; }
     public Object getNota() { return nota; }
     public Object getDtAvaliacao() { return dtAvaliacao; }
 }
\ No newline at end of file
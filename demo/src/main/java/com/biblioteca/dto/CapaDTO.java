@@ -0,0 +1,27 @@
+package com.biblioteca.dto;
+
+/**
+ * Resultado do envio de uma capa: URL pública (imutável), SHA-256 do conteúdo, tipo e tamanho.
+ * {@code duplicada} indica que o mesmo arquivo já estava armazenado e foi reaproveitado.
+ */
+public class CapaDTO {
+    private final String url;
+    private final String hash;
+    private final String tipo;
+    private final long tamanho;
+    private final boolean duplicada;
+
+    public CapaDTO(String url, String hash, String tipo, long tamanho, boolean duplicada) {
+        this.url = url;
+        this.hash = hash;
+        this.tipo = tipo;
+        this.tamanho = tamanho;
+        this.duplicada = duplicada;
+    }
+
+    public String getUrl() { return url; }
+    public String getHash() { return hash; }
+    public String getTipo() { return tipo; }
+    public long getTamanho() { return tamanho; }
+    public boolean isDuplicada() { return duplicada; }
+}
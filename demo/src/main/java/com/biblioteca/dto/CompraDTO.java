@@ -2,7 +2,7 @@ package com.biblioteca.dto;
 
 public class CompraDTO {
     private final Long idCompra;
-    private final LivroDTO livro;
+    private final LivroResumoDTO livro;
     private final ClienteDTO cliente;
     private final Object dtInicio;
     private final Object dtFim;
@@ -10,7 +10,7 @@ public class CompraDTO {
     private final String tipo;
     private final String tipoPagamento;
 
-    public CompraDTO(Long idCompra, LivroDTO livro, ClienteDTO cliente,
+    public CompraDTO(Long idCompra, LivroResumoDTO livro, ClienteDTO cliente,
                      Object dtInicio, Object dtFim, String status,
                      String tipo, String tipoPagamento) {
         this.idCompra = idCompra;
@@ -24,7 +24,7 @@ public class CompraDTO {
     }
 
     public Long getIdCompra() { return idCompra; }
-    public LivroDTO getLivro() { return livro; }
+    public LivroResumoDTO getLivro() { return livro; }
     public ClienteDTO getCliente() { return cliente; }
     public Object getDtInicio() { return dtInicio; }
     public Object getDtFim() { return dtFim; }
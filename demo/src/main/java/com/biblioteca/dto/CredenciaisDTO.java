@@ -0,0 +1,24 @@
+package com.biblioteca.dto;
+
+/**
+ * Read model de autenticação: id, nome, hash da senha e papel da pessoa, obtidos em uma única consulta.
+ * Uso interno do login; nunca deve ser serializado em respostas.
+ */
+public class CredenciaisDTO {
+    private final Long idPessoa;
+    private final String nome;
+    private final String senha;
+    private final String role;
+
+    public CredenciaisDTO(Long idPessoa, String nome, String senha, String role) {
+        this.idPessoa = idPessoa;
+        this.nome = nome;
+        this.senha = senha;
+        this.role = role;
+    }
+
+    public Long getIdPessoa() { return idPessoa; }
+    public String getNome() { return nome; }
+    public String getSenha() { return senha; }
+    public String getRole() { return role; }
+}
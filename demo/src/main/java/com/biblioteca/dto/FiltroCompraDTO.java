@@ -0,0 +1,41 @@
+package com.biblioteca.dto;
+
+import java.time.LocalDate;
+
+import com.biblioteca.model.TipoCompra;
+
+/**
+ * Critérios opcionais da listagem de compras; campos nulos não filtram.
+ * O status segue a mesma regra exibida no painel: COMPRA com status PENDENTE conta como FINALIZADA.
+ */
+public class FiltroCompraDTO {
+    private final String status;
+    private final TipoCompra tipo;
+    private final Long clienteId;
+    private final Long livroId;
+    private final LocalDate inicioDe;
+    private final LocalDate inicioAte;
+    private final LocalDate fimDe;
+    private final LocalDate fimAte;
+
+    public FiltroCompraDTO(String status, TipoCompra tipo, Long clienteId, Long livroId,
+                           LocalDate inicioDe, LocalDate inicioAte, LocalDate fimDe, LocalDate fimAte) {
+        this.status = status;
+        this.tipo = tipo;
+        this.clienteId = clienteId;
+        this.livroId = livroId;
+        this.inicioDe = inicioDe;
+        this.inicioAte = inicioAte;
+        this.fimDe = fimDe;
+        this.fimAte = fimAte;
+    }
+
+    public String getStatus() { return status; }
+    public TipoCompra getTipo() { return tipo; }
+    public Long getClienteId() { return clienteId; }
+    public Long getLivroId() { return livroId; }
+    public LocalDate getInicioDe() { return inicioDe; }
+    public LocalDate getInicioAte() { return inicioAte; }
+    public LocalDate getFimDe() { return fimDe; }
+    public LocalDate getFimAte() { return fimAte; }
+}
@@ -0,0 +1,35 @@
+package com.biblioteca.dto;
+
+import com.biblioteca.model.TipoCompra;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Item do checkout em lote. Tipo ausente segue a regra do cadastro (ALUGUEL quando o livro tem preço
+ * de aluguel); status e datas são sempre definidos pelo serviço.
+ */
+public class ItemLoteCompraDTO {
+    @NotNull(message = "Livro é obrigatório")
+    private Long idLivro;
+
+    private TipoCompra tipo;
+
+    @Size(max = 30, message = "Tipo de pagamento deve ter no máximo 30 caracteres")
+    private String tipoPagamento;
+
+    public ItemLoteCompraDTO() {}
+
+    public ItemLoteCompraDTO(Long idLivro, TipoCompra tipo, String tipoPagamento) {
+        this.idLivro = idLivro;
+        this.tipo = tipo;
+        this.tipoPagamento = tipoPagamento;
+    }
+
+    public Long getIdLivro() { return idLivro; }
+    public void setIdLivro(Long idLivro) { this.idLivro = idLivro; }
+    public TipoCompra getTipo() { return tipo; }
+    public void setTipo(TipoCompra tipo) { this.tipo = tipo; }
+    public String getTipoPagamento() { return tipoPagamento; }
+    public void setTipoPagamento(String tipoPagamento) { this.tipoPagamento = tipoPagamento; }
+}
@@ -10,6 +10,7 @@ public class LivroDTO {
     private final Object vlAluguel;
     private final Object avaliacao;
     private final String capaUrl;
+    private final String capaSrcset;
     private final String resumoCurto;
     private final String sinopse;
     private final String createdByEmail;
@@ -18,7 +19,7 @@ public class LivroDTO {
 
     public LivroDTO(Long idLivro, String titulo, String autor, String genero, Object dtPublicacao,
                     Object vlCompra, Object vlAluguel, Object avaliacao,
-                    String capaUrl, String resumoCurto, String sinopse,
+                    String capaUrl, String capaSrcset, String resumoCurto, String sinopse,
                     String createdByEmail, String createdByRole, Object createdAt) {
         this.idLivro = idLivro;
         this.titulo = titulo;
@@ -29,6 +30,7 @@ public class LivroDTO {
         this.vlAluguel = vlAluguel;
         this.avaliacao = avaliacao;
         this.capaUrl = capaUrl;
+        this.capaSrcset = capaSrcset;
         this.resumoCurto = resumoCurto;
         this.sinopse = sinopse;
         this.createdByEmail = createdByEmail;
@@ -45,6 +47,7 @@ public class LivroDTO {
     public Object getVlAluguel() { return vlAluguel; }
     public Object getAvaliacao() { return avaliacao; }
     public String getCapaUrl() { return capaUrl; }
+    public String getCapaSrcset() { return capaSrcset; }
     public String getResumoCurto() { return resumoCurto; }
     public String getSinopse() { return sinopse; }
     public String getCreatedByEmail() { return createdByEmail; }
@@ -0,0 +1,68 @@
+package com.biblioteca.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Livro nas listagens (catálogo, buscas, ranking e livros embutidos em compras/avaliações): sem a
+ * sinopse e sem os campos de auditoria. O {@link LivroDTO} completo fica para o endpoint de detalhe.
+ * As listagens o montam direto na consulta (select new), sem carregar a entidade.
+ * {@code capaSrcset} lista as miniaturas da capa para o atributo srcset das imagens; fica null quando a
+ * capa não tem miniaturas (ainda não geradas, ou formato não suportado) e é preenchido por quem monta a
+ * resposta ({@link #comCapaSrcset}).
+ */
+public class LivroResumoDTO {
+    private final Long idLivro;
+    private final String titulo;
+    private final String autor;
+    private final String genero;
+    private final LocalDate dtPublicacao;
+    private final BigDecimal vlCompra;
+    private final BigDecimal vlAluguel;
+    private final BigDecimal avaliacao;
+    private final String capaUrl;
+    private final String capaSrcset;
+    private final String resumoCurto;
+
+    public LivroResumoDTO(Long idLivro, String titulo, String autor, String genero, LocalDate dtPublicacao,
+                          BigDecimal vlCompra, BigDecimal vlAluguel, BigDecimal avaliacao,
+                          String capaUrl, String resumoCurto) {
+        this(idLivro, titulo, autor, genero, dtPublicacao, vlCompra, vlAluguel, avaliacao, capaUrl, null, resumoCurto);
+    }
+
+    public LivroResumoDTO(Long idLivro, String titulo, String autor, String genero, LocalDate dtPublicacao,
+                          BigDecimal vlCompra, BigDecimal vlAluguel, BigDecimal avaliacao,
+                          String capaUrl, String capaSrcset, String resumoCurto) {
+        this.idLivro = idLivro;
+        this.titulo = titulo;
+        this.autor = autor;
+        this.genero = genero;
+        this.dtPublicacao = dtPublicacao;
+        this.vlCompra = vlCompra;
+        this.vlAluguel = vlAluguel;
+        this.avaliacao = avaliacao;
+        this.capaUrl = capaUrl;
+        this.capaSrcset = capaSrcset;
+        this.resumoCurto = resumoCurto;
+    }
+
+    /**
+     * Cópia com o srcset informado (as listagens montadas na consulta saem sem ele).
+     */
+    public LivroResumoDTO comCapaSrcset(String capaSrcset) {
+        return new LivroResumoDTO(idLivro, titulo, autor, genero, dtPublicacao, vlCompra, vlAluguel, avaliacao,
+                capaUrl, capaSrcset, resumoCurto);
+    }
+
+    public Long getIdLivro() { return idLivro; }
+    public String getTitulo() { return titulo; }
+    public String getAutor() { return autor; }
+    public String getGenero() { return genero; }
+    public LocalDate getDtPublicacao() { return dtPublicacao; }
+    public BigDecimal getVlCompra() { return vlCompra; }
+    public BigDecimal getVlAluguel() { return vlAluguel; }
+    public BigDecimal getAvaliacao() { return avaliacao; }
+    public String getCapaUrl() { return capaUrl; }
+    public String getCapaSrcset() { return capaSrcset; }
+    public String getResumoCurto() { return resumoCurto; }
+}
@@ -0,0 +1,27 @@
+package com.biblioteca.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Corpo de POST /api/compras/lote. O cliente não vem no corpo: é sempre o usuário autenticado.
+ */
+public class LoteCompraDTO {
+    public static final int LIMITE_ITENS = 100;
+
+    @NotEmpty(message = "O lote deve conter ao menos um item")
+    @Size(max = LIMITE_ITENS, message = "O lote deve conter no máximo " + LIMITE_ITENS + " itens")
+    private List<@Valid ItemLoteCompraDTO> itens;
+
+    public LoteCompraDTO() {}
+
+    public LoteCompraDTO(List<ItemLoteCompraDTO> itens) {
+        this.itens = itens;
+    }
+
+    public List<ItemLoteCompraDTO> getItens() { return itens; }
+    public void setItens(List<ItemLoteCompraDTO> itens) { this.itens = itens; }
+}
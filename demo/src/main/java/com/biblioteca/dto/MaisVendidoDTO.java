@@ -0,0 +1,14 @@
+package com.biblioteca.dto;
+
+public class MaisVendidoDTO {
+    private final LivroResumoDTO livro;
+    private final long quantidade;
+
+    public MaisVendidoDTO(LivroResumoDTO livro, long quantidade) {
+        this.livro = livro;
+        this.quantidade = quantidade;
+    }
+
+    public LivroResumoDTO getLivro() { return livro; }
+    public long getQuantidade() { return quantidade; }
+}
@@ -0,0 +1,23 @@
+package com.biblioteca.dto;
+
+import java.util.List;
+
+public class PaginaDTO<T> {
+    private final List<T> itens;
+    private final Long proximoCursor;
+    private final int limite;
+    private final String sort;
+
+    public PaginaDTO(List<T> itens, Long proximoCursor, int limite, String sort) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.limite = limite;
+        this.sort = sort;
+    }
+
+    public List<T> getItens() { return itens; }
+    public Long getProximoCursor() { return proximoCursor; }
+    public boolean isTemMais() { return proximoCursor != null; }
+    public int getLimite() { return limite; }
+    public String getSort() { return sort; }
+}
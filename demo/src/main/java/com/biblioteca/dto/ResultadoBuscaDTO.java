@@ -0,0 +1,22 @@
+package com.biblioteca.dto;
+
+import java.util.List;
+
+public class ResultadoBuscaDTO<T> {
+    private final List<T> itens;
+    private final long total;
+    private final int pagina;
+    private final int tamanho;
+
+    public ResultadoBuscaDTO(List<T> itens, long total, int pagina, int tamanho) {
+        this.itens = itens;
+        this.total = total;
+        this.pagina = pagina;
+        this.tamanho = tamanho;
+    }
+
+    public List<T> getItens() { return itens; }
+    public long getTotal() { return total; }
+    public int getPagina() { return pagina; }
+    public int getTamanho() { return tamanho; }
+}
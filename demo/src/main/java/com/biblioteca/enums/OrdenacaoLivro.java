@@ -0,0 +1,51 @@
+package com.biblioteca.enums;
+
+import java.util.function.Function;
+
+import com.biblioteca.model.Livro;
+
+/**
+ * Ordenações suportadas pela listagem paginada de livros.
+ * Cada ordenação desempata pelo idLivro na mesma direção, o que garante um cursor estável.
+ */
+public enum OrdenacaoLivro {
+    TITULO("titulo", "titulo", false, Livro::getTitulo),
+    AVALIACAO("avaliacao", "avaliacao", true, Livro::getAvaliacao),
+    VL_COMPRA("vlCompra", "vlCompra", false, Livro::getVlCompra),
+    CREATED_AT("createdAt", "createdAt", true, Livro::getCreatedAt);
+
+    private final String parametro;
+    private final String campo;
+    private final boolean descendente;
+    private final Function<Livro, Object> extrator;
+
+    OrdenacaoLivro(String parametro, String campo, boolean descendente, Function<Livro, Object> extrator) {
+        this.parametro = parametro;
+        this.campo = campo;
+        this.descendente = descendente;
+        this.extrator = extrator;
+    }
+
+    public String getParametro() { return parametro; }
+    public String getCampo() { return campo; }
+    public boolean isDescendente() { return descendente; }
+
+    /**
+     * Valor da coluna de ordenação para o livro usado como cursor.
+     */
+    public Object valorDe(Livro livro) {
+        return extrator.apply(livro);
+    }
+
+    public static OrdenacaoLivro fromString(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return TITULO;
+        }
+        for (OrdenacaoLivro o : values()) {
+            if (o.parametro.equalsIgnoreCase(valor.trim())) {
+                return o;
+            }
+        }
+        throw new IllegalArgumentException("Ordenação inválida: " + valor);
+    }
+}
@@ -0,0 +1,10 @@
+package com.biblioteca.exception;
+
+/**
+ * Recurso interno saturado (ex.: fila de hash de senhas cheia); traduzida em 503 com Retry-After.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+    public ServicoSobrecarregadoException(String message) {
+        super(message);
+    }
+}
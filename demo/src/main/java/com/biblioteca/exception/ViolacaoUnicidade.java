@@ -0,0 +1,35 @@
+package com.biblioteca.exception;
+
+import java.util.Locale;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.biblioteca.model.Pessoa;
+
+/**
+ * Traduz a violação das constraints únicas de TB_Pessoa (cpf, email) nas mensagens de negócio
+ * usadas pelo cadastro. O valor duplicado aparece na mensagem do banco (MySQL: "Duplicate entry 'x'",
+ * H2: "VALUES ('x')"), o que identifica a coluna sem depender do nome gerado da constraint.
+ */
+public final class ViolacaoUnicidade {
+
+    private ViolacaoUnicidade() {}
+
+    /**
+     * @return BusinessException com "Email já cadastrado" ou "CPF já cadastrado";
+     *         a própria exceção original quando a violação não é de email/CPF
+     */
+    public static RuntimeException traduzir(DataIntegrityViolationException e, Pessoa pessoa) {
+        String mensagem = e.getMostSpecificCause().getMessage();
+        if (mensagem == null) return e;
+        String normalizada = mensagem.toLowerCase(Locale.ROOT);
+        // Email primeiro: um email pode conter os dígitos do CPF, o contrário não
+        if (pessoa.getEmail() != null && normalizada.contains("'" + pessoa.getEmail().toLowerCase(Locale.ROOT) + "'")) {
+            return new BusinessException("Email já cadastrado");
+        }
+        if (pessoa.getCpf() != null && normalizada.contains("'" + pessoa.getCpf() + "'")) {
+            return new BusinessException("CPF já cadastrado");
+        }
+        return e;
+    }
+}
@@ -22,6 +22,13 @@ public class DtoMapper {
     }
 
     public static LivroDTO toLivroDTO(Livro l) {
+        return toLivroDTO(l, null);
+    }
+
+    /**
+     * @param capaSrcset miniaturas da capa (MiniaturasCapas#srcset), ou null
+     */
+    public static LivroDTO toLivroDTO(Livro l, String capaSrcset) {
         if (l == null) return null;
         return new LivroDTO(
             l.getIdLivro(),
@@ -33,6 +40,7 @@ public class DtoMapper {
             l.getVlAluguel(),
             l.getAvaliacao(),
             l.getCapaUrl(),
+            capaSrcset,
             l.getResumoCurto(),
             l.getSinopse(),
             l.getCreatedByEmail(),
@@ -41,18 +49,42 @@ public class DtoMapper {
         );
     }
 
+    public static LivroResumoDTO toLivroResumoDTO(Livro l) {
+        return toLivroResumoDTO(l, null);
+    }
+
+    /**
+     * @param capaSrcset miniaturas da capa (MiniaturasCapas#srcset), ou null
+     */
+    public static LivroResumoDTO toLivroResumoDTO(Livro l, String capaSrcset) {
+        if (l == null) return null;
+        return new LivroResumoDTO(
+            l.getIdLivro(),
+            l.getTitulo(),
+            l.getAutor(),
+            l.getGenero(),
+            l.getDtPublicacao(),
+            l.getVlCompra(),
+            l.getVlAluguel(),
+            l.getAvaliacao(),
+            l.getCapaUrl(),
+            capaSrcset,
+            l.getResumoCurto()
+        );
+    }
+
     public static CompraDTO toCompraDTO(Compra cp) {
         if (cp == null) return null;
         String tipoStr = cp.getTipo() != null
                 ? cp.getTipo().name()
                 : (cp.getLivro() != null && cp.getLivro().getVlAluguel() != null ? "ALUGUEL" : "COMPRA");
-        return new CompraDTO(cp.getIdCompra(), toLivroDTO(cp.getLivro()), toClienteDTO(cp.getCliente()),
+        return new CompraDTO(cp.getIdCompra(), toLivroResumoDTO(cp.getLivro()), toClienteDTO(cp.getCliente()),
                 cp.getDtInicio(), cp.getDtFim(), cp.getStatus(), tipoStr, cp.getTipoPagamento());
     }
 
     public static AvaliacaoDTO toAvaliacaoDTO(Avaliacao av) {
         if (av == null) return null;
-        return new AvaliacaoDTO(av.getIdAvaliacao(), toClienteDTO(av.getCliente()), toLivroDTO(av.getLivro()),
+        return new AvaliacaoDTO(av.getIdAvaliacao(), toClienteDTO(av.getCliente()), toLivroResumoDTO(av.getLivro()),
                 av.getNota(), av.getDtAvaliacao());
     }
 
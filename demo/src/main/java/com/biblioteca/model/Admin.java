@@ -14,9 +14,6 @@ import jakarta.validation.constraints.Size;
 @Table(name = "TB_Admin")
 public class Admin extends Pessoa {
     
-    @Column(name = "id_admin")
-    private Long idAdmin;
-    
     @Column(name = "created_by_email", length = 255)
     private String createdByEmail;
     
@@ -28,8 +25,11 @@ public class Admin extends Pessoa {
     
     public Admin() {}
     
-    public Long getIdAdmin() { return idAdmin; }
-    public void setIdAdmin(Long idAdmin) { this.idAdmin = idAdmin; }
+    /**
+     * Mesmo valor do idPessoa, mantido no JSON por compatibilidade. A antiga coluna id_admin não é mais
+     * lida nem gravada (bases antigas ainda a têm, nula nos cadastros recentes, e podem removê-la).
+     */
+    public Long getIdAdmin() { return getIdPessoa(); }
     public String getCreatedByEmail() { return createdByEmail; }
     public void setCreatedByEmail(String createdByEmail) { this.createdByEmail = createdByEmail; }
     public String getCreatedByRole() { return createdByRole; }
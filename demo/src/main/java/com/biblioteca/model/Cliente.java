@@ -17,9 +17,6 @@ import jakarta.persistence.Table;
 @Table(name = "TB_Cliente")
 public class Cliente extends Pessoa {
     
-    @Column(name = "id_cliente")
-    private Long idCliente;
-    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -46,8 +43,11 @@ public class Cliente extends Pessoa {
     
     public Cliente() {}
     
-    public Long getIdCliente() { return idCliente; }
-    public void setIdCliente(Long idCliente) { this.idCliente = idCliente; }
+    /**
+     * Mesmo valor do idPessoa, mantido no JSON por compatibilidade. A antiga coluna id_cliente não é mais
+     * lida nem gravada (bases antigas ainda a têm, nula nos cadastros recentes, e podem removê-la).
+     */
+    public Long getIdCliente() { return getIdPessoa(); }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
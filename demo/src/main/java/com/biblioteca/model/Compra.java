@@ -4,9 +4,11 @@ import java.time.LocalDate;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.JoinColumn;
@@ -18,7 +20,13 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "TB_Compra")
+@Table(name = "TB_Compra", indexes = {
+    @Index(name = "idx_compra_status_tipo_dt_inicio", columnList = "status, tipo, dt_inicio"),
+    @Index(name = "idx_compra_tipo_dt_inicio", columnList = "tipo, dt_inicio"),
+    @Index(name = "idx_compra_cliente_dt_inicio", columnList = "id_cliente, dt_inicio"),
+    @Index(name = "idx_compra_livro_dt_inicio", columnList = "id_livro, dt_inicio"),
+    @Index(name = "idx_compra_dt_inicio", columnList = "dt_inicio")
+})
 public class Compra {
     
     @Id
@@ -26,12 +34,12 @@ public class Compra {
     @Column(name = "id_compra")
     private Long idCompra;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_livro", nullable = false)
     @NotNull(message = "Livro é obrigatório")
     private Livro livro;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cliente", nullable = false)
     @NotNull(message = "Cliente é obrigatório")
     private Cliente cliente;
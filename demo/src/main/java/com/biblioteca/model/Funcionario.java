@@ -14,9 +14,6 @@ import jakarta.validation.constraints.Size;
 @Table(name = "TB_Funcionario")
 public class Funcionario extends Pessoa {
     
-    @Column(name = "id_funcionario")
-    private Long idFuncionario;
-    
     @Column(name = "created_by_email", length = 255)
     private String createdByEmail;
     
@@ -28,8 +25,11 @@ public class Funcionario extends Pessoa {
     
     public Funcionario() {}
     
-    public Long getIdFuncionario() { return idFuncionario; }
-    public void setIdFuncionario(Long idFuncionario) { this.idFuncionario = idFuncionario; }
+    /**
+     * Mesmo valor do idPessoa, mantido no JSON por compatibilidade. A antiga coluna id_funcionario não é mais
+     * lida nem gravada (bases antigas ainda a têm, nula nos cadastros recentes, e podem removê-la).
+     */
+    public Long getIdFuncionario() { return getIdPessoa(); }
     public String getCreatedByEmail() { return createdByEmail; }
     public void setCreatedByEmail(String createdByEmail) { this.createdByEmail = createdByEmail; }
     public String getCreatedByRole() { return createdByRole; }
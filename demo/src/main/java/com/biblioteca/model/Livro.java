@@ -5,16 +5,22 @@ import java.time.LocalDate;
 import java.util.List;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -22,7 +28,15 @@ import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "TB_Livro")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livro")
+@Table(name = "TB_Livro", indexes = {
+    // Índices compostos para a paginação keyset (coluna de ordenação + id como desempate)
+    @Index(name = "idx_livro_titulo_id", columnList = "titulo, id_livro"),
+    @Index(name = "idx_livro_avaliacao_id", columnList = "avaliacao, id_livro"),
+    @Index(name = "idx_livro_vl_compra_id", columnList = "vl_compra, id_livro"),
+    @Index(name = "idx_livro_created_at_id", columnList = "created_at, id_livro")
+})
 public class Livro {
     
     @Id
@@ -57,11 +71,21 @@ public class Livro {
     private BigDecimal vlAluguel;
     
     
+    // Média derivada de somaAvaliacoes/qtAvaliacoes; só é gravada pelo update atômico do repositório
     @DecimalMin(value = "0.0", message = "Avaliação não pode ser negativa")
     @DecimalMax(value = "5.0", message = "Avaliação não pode ser maior que 5.0")
-    @Column(name = "avaliacao", precision = 2, scale = 1)
+    @Column(name = "avaliacao", precision = 2, scale = 1, insertable = false, updatable = false)
     private BigDecimal avaliacao;
 
+    // Agregados das avaliações (soma das notas e quantidade), incrementados no banco
+    @JsonIgnore
+    @Column(name = "soma_avaliacoes", precision = 12, scale = 1, updatable = false)
+    private BigDecimal somaAvaliacoes = BigDecimal.ZERO;
+
+    @JsonIgnore
+    @Column(name = "qt_avaliacoes", updatable = false)
+    private Integer qtAvaliacoes = 0;
+
     // Nova coluna: URL da imagem de capa
     @Size(max = 255, message = "URL da capa deve ter no máximo 255 caracteres")
     @Column(name = "capa_url", length = 255)
@@ -72,8 +96,8 @@ public class Livro {
     @Column(name = "resumo_curto", length = 512)
     private String resumoCurto;
 
-    // Nova coluna: sinopse longa (texto)
-    @Column(name = "sinopse", columnDefinition = "TEXT")
+    // Sinopse longa: gravada comprimida em TB_Livro_Sinopse (SinopseLivro) e preenchida só no detalhe
+    @Transient
     private String sinopse;
     
     @Column(name = "created_by_email", length = 255)
@@ -120,6 +144,12 @@ public class Livro {
     public BigDecimal getAvaliacao() { return avaliacao; }
     public void setAvaliacao(BigDecimal avaliacao) { this.avaliacao = avaliacao; }
 
+    public BigDecimal getSomaAvaliacoes() { return somaAvaliacoes; }
+    public void setSomaAvaliacoes(BigDecimal somaAvaliacoes) { this.somaAvaliacoes = somaAvaliacoes; }
+
+    public Integer getQtAvaliacoes() { return qtAvaliacoes; }
+    public void setQtAvaliacoes(Integer qtAvaliacoes) { this.qtAvaliacoes = qtAvaliacoes; }
+
     public String getCapaUrl() { return capaUrl; }
     public void setCapaUrl(String capaUrl) { this.capaUrl = capaUrl; }
 
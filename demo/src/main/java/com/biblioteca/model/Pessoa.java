@@ -2,7 +2,11 @@ package com.biblioteca.model;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -19,6 +23,9 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "TB_Pessoa")
+// Com herança JOINED o cache é declarado na raiz: Cliente, Funcionario e Admin compartilham a região
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pessoa")
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class Pessoa {
     
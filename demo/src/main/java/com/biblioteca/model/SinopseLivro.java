@@ -0,0 +1,38 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Sinopse longa do livro, comprimida com deflate em tabela própria.
+ * Fora de TB_Livro, as linhas do catálogo ficam curtas (mais livros por página do InnoDB) e a sinopse
+ * só é lida e descomprimida quando o detalhe do livro é pedido.
+ */
+@Entity
+@Table(name = "TB_Livro_Sinopse")
+public class SinopseLivro {
+
+    @Id
+    @Column(name = "id_livro")
+    private Long idLivro;
+
+    @Convert(converter = TextoComprimidoConverter.class)
+    @Column(name = "conteudo", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private String texto;
+
+    public SinopseLivro() {}
+
+    public SinopseLivro(Long idLivro, String texto) {
+        this.idLivro = idLivro;
+        this.texto = texto;
+    }
+
+    public Long getIdLivro() { return idLivro; }
+    public void setIdLivro(Long idLivro) { this.idLivro = idLivro; }
+
+    public String getTexto() { return texto; }
+    public void setTexto(String texto) { this.texto = texto; }
+}
@@ -0,0 +1,66 @@
+package com.biblioteca.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava textos longos comprimidos com deflate (formato zlib) e os descomprime ao ler.
+ * Textos em português comprimem para cerca de um terço do tamanho em UTF-8.
+ */
+@Converter
+public class TextoComprimidoConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String texto) {
+        return texto == null ? null : comprimir(texto);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dados) {
+        return dados == null ? null : descomprimir(dados);
+    }
+
+    public static byte[] comprimir(String texto) {
+        byte[] entrada = texto.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(entrada);
+            deflater.finish();
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, entrada.length / 2));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                saida.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return saida.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String descomprimir(byte[] dados) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(dados);
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int lidos = inflater.inflate(buffer);
+                if (lidos == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Texto comprimido truncado ou corrompido");
+                }
+                saida.write(buffer, 0, lidos);
+            }
+            return saida.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Texto comprimido inválido", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Contadores materializados de compras e aluguéis não cancelados por livro.
+ * Mantidos em tabela própria para que o salvamento do Livro nunca sobrescreva os contadores.
+ */
+@Entity
+@Table(name = "TB_Livro_Vendas")
+public class VendasLivro {
+
+    @Id
+    @Column(name = "id_livro")
+    private Long idLivro;
+
+    @Column(name = "qt_compras", nullable = false)
+    private long qtCompras;
+
+    @Column(name = "qt_alugueis", nullable = false)
+    private long qtAlugueis;
+
+    public VendasLivro() {}
+
+    public Long getIdLivro() { return idLivro; }
+    public void setIdLivro(Long idLivro) { this.idLivro = idLivro; }
+
+    public long getQtCompras() { return qtCompras; }
+    public void setQtCompras(long qtCompras) { this.qtCompras = qtCompras; }
+
+    public long getQtAlugueis() { return qtAlugueis; }
+    public void setQtAlugueis(long qtAlugueis) { this.qtAlugueis = qtAlugueis; }
+}
@@ -0,0 +1,87 @@
+package com.biblioteca.monitoramento;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Comandos SQL, tempo de JDBC e linhas de uma requisição HTTP, acumulados na thread que a atende.
+ * Aberto e fechado pelo {@link MonitorSqlFilter}; fora de uma requisição {@link #atual()} é nulo
+ * e o {@link DataSourceInstrumentado} não mede nada.
+ */
+public final class ConsultasRequisicao {
+
+    private static final ThreadLocal<ConsultasRequisicao> ATUAL = new ThreadLocal<>();
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Pattern LISTA_IN = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern NUMEROS = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern TEXTOS = Pattern.compile("'(?:[^']|'')*'");
+
+    private int comandos;
+    private long nanos;
+    private long linhas;
+    // formato normalizado do SELECT -> execuções na requisição
+    private final Map<String, Integer> selectsPorFormato = new HashMap<>();
+
+    private ConsultasRequisicao() {
+    }
+
+    static ConsultasRequisicao iniciar() {
+        ConsultasRequisicao consultas = new ConsultasRequisicao();
+        ATUAL.set(consultas);
+        return consultas;
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    static ConsultasRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    void registrar(String sql, long duracaoNanos) {
+        comandos++;
+        nanos += duracaoNanos;
+        if (sql != null && sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            selectsPorFormato.merge(formato(sql), 1, Integer::sum);
+        }
+    }
+
+    void somarLinhas(long quantidade) {
+        if (quantidade > 0) linhas += quantidade;
+    }
+
+    public int getComandos() { return comandos; }
+
+    public long getNanos() { return nanos; }
+
+    public long getLinhas() { return linhas; }
+
+    /**
+     * SELECT mais repetido na requisição, ou nulo quando não houve SELECT.
+     */
+    public Map.Entry<String, Integer> selectMaisRepetido() {
+        Map.Entry<String, Integer> maior = null;
+        for (Map.Entry<String, Integer> e : selectsPorFormato.entrySet()) {
+            if (maior == null || e.getValue() > maior.getValue()) maior = e;
+        }
+        return maior;
+    }
+
+    public String resumo() {
+        return String.format(Locale.ROOT, "comandos=%d; tempo-ms=%.2f; linhas=%d", comandos, nanos / 1_000_000.0, linhas);
+    }
+
+    /**
+     * Mesmo formato para consultas que só diferem em literais ou no tamanho de listas IN.
+     */
+    static String formato(String sql) {
+        String s = TEXTOS.matcher(sql).replaceAll("?");
+        s = NUMEROS.matcher(s).replaceAll("?");
+        s = LISTA_IN.matcher(s).replaceAll("(?)");
+        return ESPACOS.matcher(s.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,116 @@
+package com.biblioteca.monitoramento;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que mede, para a requisição em andamento ({@link ConsultasRequisicao}), cada comando
+ * executado: quantidade, tempo dentro do driver e linhas lidas ou alteradas.
+ *
+ * Sem requisição em andamento (inicialização, tarefas em segundo plano) os statements não são
+ * envolvidos e o custo é só a consulta ao ThreadLocal ao preparar o comando.
+ */
+public class DataSourceInstrumentado extends DelegatingDataSource {
+
+    private static final Set<String> EXECUCOES = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public DataSourceInstrumentado(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexao(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conexao(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection conexao(Connection alvo) {
+        return (Connection) Proxy.newProxyInstance(DataSourceInstrumentado.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, (proxy, metodo, args) -> {
+                Object resultado = invocar(alvo, metodo, args);
+                if (!(resultado instanceof Statement statement)) {
+                    return resultado;
+                }
+                ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+                if (consultas == null) {
+                    return resultado;
+                }
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return statement(statement, sql, consultas);
+            });
+    }
+
+    private static Statement statement(Statement alvo, String sqlPreparado, ConsultasRequisicao consultas) {
+        Class<?> tipo = alvo instanceof CallableStatement ? CallableStatement.class
+            : alvo instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        InvocationHandler handler = (proxy, metodo, args) -> {
+            String nome = metodo.getName();
+            if (!EXECUCOES.contains(nome)) {
+                Object resultado = invocar(alvo, metodo, args);
+                if (resultado instanceof ResultSet rs && "getResultSet".equals(nome)) {
+                    return resultSet(rs, consultas);
+                }
+                return resultado;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : sqlPreparado;
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = invocar(alvo, metodo, args);
+            } finally {
+                consultas.registrar(sql, System.nanoTime() - inicio);
+            }
+            if (resultado instanceof ResultSet rs) {
+                return resultSet(rs, consultas);
+            } else if (resultado instanceof Integer n) {
+                consultas.somarLinhas(n);
+            } else if (resultado instanceof Long n) {
+                consultas.somarLinhas(n);
+            } else if (resultado instanceof int[] lote) {
+                for (int n : lote) consultas.somarLinhas(n);
+            } else if (resultado instanceof long[] lote) {
+                for (long n : lote) consultas.somarLinhas(n);
+            }
+            return resultado;
+        };
+        return (Statement) Proxy.newProxyInstance(DataSourceInstrumentado.class.getClassLoader(),
+            new Class<?>[] { tipo }, handler);
+    }
+
+    private static ResultSet resultSet(ResultSet alvo, ConsultasRequisicao consultas) {
+        return (ResultSet) Proxy.newProxyInstance(DataSourceInstrumentado.class.getClassLoader(),
+            new Class<?>[] { ResultSet.class }, (proxy, metodo, args) -> {
+                Object resultado = invocar(alvo, metodo, args);
+                if ("next".equals(metodo.getName()) && Boolean.TRUE.equals(resultado)) {
+                    consultas.somarLinhas(1);
+                }
+                return resultado;
+            });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.biblioteca.monitoramento;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve o DataSource principal (bean "dataSource") em um {@link DataSourceInstrumentado}.
+ * Só o principal: com a réplica ativa, os pools por trás do roteamento não são envolvidos de novo.
+ */
+@Component
+@ConditionalOnProperty(name = "sql.monitor.habilitado", havingValue = "true", matchIfMissing = true)
+public class InstrumentadorDataSource implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource ds && !(bean instanceof DataSourceInstrumentado)) {
+            return new DataSourceInstrumentado(ds);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,197 @@
+package com.biblioteca.monitoramento;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.biblioteca.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mede os comandos SQL de cada requisição em /api e publica por endpoint (método + padrão da rota):
+ * sql.requisicao.comandos, sql.requisicao.tempo (tempo dentro do JDBC) e sql.requisicao.linhas.
+ *
+ * Avisa (e conta em sql.requisicao.alertas) quando o endpoint passa do orçamento de comandos ou
+ * executa o mesmo formato de SELECT várias vezes, sinal típico de N+1.
+ *
+ * Com sql.monitor.falhar=true (testes) ou sql.monitor.cabecalho=true (desenvolvimento) a resposta fica
+ * em buffer até o fim da requisição, incluindo a serialização e as cargas lazy do open-in-view:
+ * no primeiro caso, uma requisição acima do orçamento troca o corpo por um 500; no segundo, o resumo
+ * completo vai no cabeçalho X-SQL-Resumo. Sem as duas opções nada é bufferizado e o monitor só mede.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "sql.monitor.habilitado", havingValue = "true", matchIfMissing = true)
+public class MonitorSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorSqlFilter.class);
+
+    public static final String CABECALHO = "X-SQL-Resumo";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final int orcamentoPadrao;
+    private final Map<String, Integer> orcamentos;
+    private final int repeticoesMaximas;
+    private final boolean falhar;
+    private final boolean cabecalho;
+
+    // Aviso no log só na primeira ocorrência por endpoint e tipo; as demais ficam no contador
+    private final Set<String> avisados = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param orcamentos exceções ao orçamento padrão, ex.: "GET /api/livros=3,POST /api/compras/lote=60"
+     */
+    public MonitorSqlFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                            @Value("${sql.monitor.orcamento-padrao:25}") int orcamentoPadrao,
+                            @Value("${sql.monitor.orcamentos:}") String orcamentos,
+                            @Value("${sql.monitor.repeticoes-maximas:5}") int repeticoesMaximas,
+                            @Value("${sql.monitor.falhar:false}") boolean falhar,
+                            @Value("${sql.monitor.cabecalho:false}") boolean cabecalho) {
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.orcamentoPadrao = orcamentoPadrao;
+        this.orcamentos = lerOrcamentos(orcamentos);
+        this.repeticoesMaximas = repeticoesMaximas;
+        this.falhar = falhar;
+        this.cabecalho = cabecalho;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        ConsultasRequisicao consultas = ConsultasRequisicao.iniciar();
+        ContentCachingResponseWrapper resposta = falhar || cabecalho ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, resposta != null ? resposta : response);
+        } finally {
+            ConsultasRequisicao.encerrar();
+        }
+        String violacao = registrar(request, consultas);
+        if (resposta == null) return;
+
+        if (falhar && violacao != null) {
+            recusar(request, resposta, violacao);
+        }
+        if (cabecalho) {
+            resposta.setHeader(CABECALHO, consultas.resumo());
+        }
+        resposta.copyBodyToResponse();
+    }
+
+    /**
+     * Descarta a resposta bufferizada (ainda não enviada) e responde 500 com a violação.
+     */
+    private void recusar(HttpServletRequest request, ContentCachingResponseWrapper resposta, String violacao)
+            throws IOException {
+        resposta.reset();
+        resposta.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        resposta.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        resposta.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ErrorResponse erro = new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "SQL Budget Exceeded",
+            violacao, request.getRequestURI());
+        objectMapper.writeValue(resposta.getOutputStream(), erro);
+    }
+
+    /**
+     * Publica as métricas e avisa das violações.
+     * @return mensagem da primeira violação, ou null dentro do orçamento
+     */
+    private String registrar(HttpServletRequest request, ConsultasRequisicao consultas) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String metodo = request.getMethod();
+        String rota = padrao != null ? padrao.toString() : "desconhecido";
+        String endpoint = metodo + " " + rota;
+
+        DistributionSummary.builder("sql.requisicao.comandos")
+            .tags("metodo", metodo, "endpoint", rota)
+            .register(meterRegistry)
+            .record(consultas.getComandos());
+        Timer.builder("sql.requisicao.tempo")
+            .tags("metodo", metodo, "endpoint", rota)
+            .register(meterRegistry)
+            .record(consultas.getNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("sql.requisicao.linhas")
+            .tags("metodo", metodo, "endpoint", rota)
+            .register(meterRegistry)
+            .record(consultas.getLinhas());
+
+        String violacao = null;
+        int orcamento = orcamentos.getOrDefault(endpoint, orcamentoPadrao);
+        if (orcamento > 0 && consultas.getComandos() > orcamento) {
+            violacao = alertar("orcamento", metodo, rota, String.format("%s executou %d comandos SQL (orçamento %d)",
+                endpoint, consultas.getComandos(), orcamento));
+        }
+        Map.Entry<String, Integer> repetido = consultas.selectMaisRepetido();
+        if (repeticoesMaximas > 0 && repetido != null && repetido.getValue() >= repeticoesMaximas) {
+            String mensagem = alertar("repeticao", metodo, rota, String.format("%s repetiu %d vezes o SELECT (possível N+1): %s",
+                endpoint, repetido.getValue(), abreviar(repetido.getKey())));
+            if (violacao == null) violacao = mensagem;
+        }
+        return violacao;
+    }
+
+    private String alertar(String tipo, String metodo, String rota, String mensagem) {
+        Counter.builder("sql.requisicao.alertas")
+            .tags("tipo", tipo, "metodo", metodo, "endpoint", rota)
+            .register(meterRegistry)
+            .increment();
+        if (avisados.add(tipo + " " + metodo + " " + rota)) {
+            log.warn(mensagem);
+        } else {
+            log.debug(mensagem);
+        }
+        return mensagem;
+    }
+
+    private static String abreviar(String sql) {
+        return sql.length() <= 300 ? sql : sql.substring(0, 300) + "...";
+    }
+
+    private static Map<String, Integer> lerOrcamentos(String configuracao) {
+        Map<String, Integer> mapa = new HashMap<>();
+        if (configuracao == null || configuracao.isBlank()) return mapa;
+        for (String item : configuracao.split(",")) {
+            int igual = item.lastIndexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("sql.monitor.orcamentos inválido: " + item);
+            }
+            mapa.put(item.substring(0, igual).trim().replaceAll("\\s+", " "),
+                Integer.parseInt(item.substring(igual + 1).trim()));
+        }
+        return mapa;
+    }
+}
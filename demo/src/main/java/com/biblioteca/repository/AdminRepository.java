@@ -1,15 +1,34 @@
 package com.biblioteca.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.biblioteca.dto.AdminDTO;
 import com.biblioteca.model.Admin;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     /**
-     * Busca administrador por email (único).
+     * Busca administrador por email (único). Resultado no cache de consultas (invalidado a cada escrita em TB_Pessoa).
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consulta-pessoas-email")
+    })
     Optional<Admin> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Listagem de administradores montada direto no DTO: sem o hash da senha e sem tocar nas coleções.
+     * O id específico do tipo é o próprio idPessoa.
+     */
+    @Query("select new com.biblioteca.dto.AdminDTO(a.idPessoa, a.idPessoa, a.nome, a.email, a.telefone, a.cpf, a.dtNascimento, a.genero, a.endereco, a.createdAt, a.createdByEmail, a.createdByRole) "
+         + "from Admin a order by a.idPessoa")
+    List<AdminDTO> listarResumos();
+}
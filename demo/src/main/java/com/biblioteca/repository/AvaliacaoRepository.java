@@ -1,31 +1,57 @@
 package com.biblioteca.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
 import com.biblioteca.model.Avaliacao;
 import com.biblioteca.model.Cliente;
 import com.biblioteca.model.Livro;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
+    /**
+     * Lista todas as avaliações carregando livro e cliente no mesmo SELECT (sem N+1).
+     */
+    @Override
+    @EntityGraph(attributePaths = {"livro", "cliente"})
+    List<Avaliacao> findAll();
+
+    /**
+     * Busca avaliação por ID já com livro e cliente.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"livro", "cliente"})
+    Optional<Avaliacao> findById(Long id);
+
     /**
      * Lista avaliações de um livro.
      */
+    @EntityGraph(attributePaths = {"livro", "cliente"})
     List<Avaliacao> findByLivro(Livro livro);
 
     /**
      * Lista avaliações feitas por um cliente.
      */
+    @EntityGraph(attributePaths = {"livro", "cliente"})
     List<Avaliacao> findByCliente(Cliente cliente);
 
     /**
      * Conta avaliações associadas a um livro.
      */
     long countByLivro(Livro livro);
-}
-
-
 
+    /**
+     * Busca a avaliação com bloqueio da linha, para que a nota anterior usada no delta da média
+     * não mude entre a leitura e a escrita.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"livro", "cliente"})
+    Optional<Avaliacao> findParaAtualizacaoByIdAvaliacao(Long idAvaliacao);
+}
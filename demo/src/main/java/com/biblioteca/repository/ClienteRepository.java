@@ -3,11 +3,16 @@ package com.biblioteca.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.biblioteca.dto.ClienteDTO;
 import com.biblioteca.model.Cliente;
 
 @Repository
@@ -18,7 +23,18 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByCpf(String cpf);
 
     /**
-     * Busca cliente por email (único).
+     * Busca cliente por email (único). Resultado no cache de consultas (invalidado a cada escrita em TB_Pessoa).
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consulta-pessoas-email")
+    })
     Optional<Cliente> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Listagem de clientes montada direto no DTO: sem o hash da senha e sem tocar nas coleções.
+     */
+    @Query("select new com.biblioteca.dto.ClienteDTO(c.idPessoa, c.nome, c.email, c.telefone, c.cpf, c.dtNascimento, c.genero, c.endereco, c.createdAt, c.createdByEmail, c.createdByRole) "
+         + "from Cliente c order by c.idPessoa")
+    List<ClienteDTO> listarResumos();
+}
@@ -1,24 +1,46 @@
 package com.biblioteca.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.biblioteca.model.Cliente;
 import com.biblioteca.model.Compra;
 import com.biblioteca.model.Livro;
+import com.biblioteca.model.TipoCompra;
 
 @Repository
-public interface CompraRepository extends JpaRepository<Compra, Long> {
+public interface CompraRepository extends JpaRepository<Compra, Long>, CompraRepositoryCustom {
+    /**
+     * Lista todas as compras carregando livro e cliente no mesmo SELECT (sem N+1).
+     */
+    @Override
+    @EntityGraph(attributePaths = {"livro", "cliente"})
+    List<Compra> findAll();
+
+    /**
+     * Busca compra por ID já com livro e cliente.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"livro", "cliente"})
+    Optional<Compra> findById(Long id);
+
     /**
      * Lista compras/aluguéis de um cliente.
      */
+    @EntityGraph(attributePaths = {"livro", "cliente"})
     List<Compra> findByCliente(Cliente cliente);
 
     /**
      * Lista compras/aluguéis por status.
      */
+    @EntityGraph(attributePaths = {"livro", "cliente"})
     List<Compra> findByStatus(String status);
 
     /**
@@ -31,4 +53,32 @@ public interface CompraRepository extends JpaRepository<Compra, Long> {
      * Conta compras/aluguéis associados a um livro.
      */
     long countByLivro(Livro livro);
-}
\ No newline at end of file
+
+    /**
+     * Indica se ainda há registros no formato antigo (sem tipo, ou COMPRA pendente).
+     */
+    @Query("select case when count(c) > 0 then true else false end from Compra c where c.tipo is null or (c.tipo = :compra and c.status = 'PENDENTE')")
+    boolean existeLegado(@Param("compra") TipoCompra compra);
+
+    /**
+     * Preenche o tipo de compras antigas sem tipo, com a mesma inferência do cadastro:
+     * ALUGUEL quando o livro tem preço de aluguel, COMPRA nos demais casos.
+     */
+    @Modifying
+    @Query("update Compra c set c.tipo = :aluguel where c.tipo is null and c.livro.idLivro in "
+         + "(select l.idLivro from Livro l where l.vlAluguel is not null)")
+    int preencherTipoAluguelLegado(@Param("aluguel") TipoCompra aluguel);
+
+    @Modifying
+    @Query("update Compra c set c.tipo = :compra where c.tipo is null")
+    int preencherTipoCompraLegado(@Param("compra") TipoCompra compra);
+
+    /**
+     * COMPRA nunca fica pendente: registros antigos nesse estado passam a FINALIZADA,
+     * para que o filtro por status seja uma igualdade simples coberta por índice.
+     */
+    @Modifying
+    @Query("update Compra c set c.status = 'FINALIZADA', c.dtFim = coalesce(c.dtFim, c.dtInicio) "
+         + "where c.status = 'PENDENTE' and c.tipo = :compra")
+    int finalizarComprasPendentesLegado(@Param("compra") TipoCompra compra);
+}
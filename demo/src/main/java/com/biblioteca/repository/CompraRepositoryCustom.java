@@ -0,0 +1,20 @@
+package com.biblioteca.repository;
+
+import java.util.List;
+
+import com.biblioteca.dto.FiltroCompraDTO;
+import com.biblioteca.model.Compra;
+
+public interface CompraRepositoryCustom {
+    /**
+     * Insere as compras com um único batch JDBC e preenche o idCompra gerado em cada uma.
+     * As compras já devem estar com cliente, livro, tipo, status e datas definidos.
+     */
+    void inserirEmLote(List<Compra> compras);
+
+    /**
+     * Lista compras que atendem ao filtro, da mais recente para a mais antiga, já com livro e cliente.
+     * @param cursor última compra da página anterior (null para a primeira página)
+     */
+    List<Compra> buscarFiltradas(FiltroCompraDTO filtro, Compra cursor, int limite);
+}
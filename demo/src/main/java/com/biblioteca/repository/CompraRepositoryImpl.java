@@ -0,0 +1,137 @@
+package com.biblioteca.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.biblioteca.dto.FiltroCompraDTO;
+import com.biblioteca.model.Compra;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class CompraRepositoryImpl implements CompraRepositoryCustom {
+
+    private static final String INSERT_COMPRA =
+        "INSERT INTO TB_Compra (id_livro, id_cliente, dt_inicio, dt_fim, status, tipo, tipo_pagamento) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Com IDENTITY o Hibernate não agrupa inserts; aqui o batch vai direto pelo JDBC
+     * (com rewriteBatchedStatements o MySQL recebe um único INSERT multi-linha).
+     */
+    @Override
+    public void inserirEmLote(List<Compra> compras) {
+        if (compras.isEmpty()) return;
+        KeyHolder chaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            con -> con.prepareStatement(INSERT_COMPRA, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Compra c = compras.get(i);
+                    ps.setLong(1, c.getLivro().getIdLivro());
+                    ps.setLong(2, c.getCliente().getIdPessoa());
+                    ps.setDate(3, Date.valueOf(c.getDtInicio()));
+                    if (c.getDtFim() != null) {
+                        ps.setDate(4, Date.valueOf(c.getDtFim()));
+                    } else {
+                        ps.setNull(4, Types.DATE);
+                    }
+                    ps.setString(5, c.getStatus());
+                    ps.setString(6, c.getTipo() != null ? c.getTipo().name() : null);
+                    ps.setString(7, c.getTipoPagamento());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return compras.size();
+                }
+            },
+            chaves);
+
+        List<Map<String, Object>> geradas = chaves.getKeyList();
+        for (int i = 0; i < compras.size() && i < geradas.size(); i++) {
+            Object id = geradas.get(i).values().iterator().next();
+            compras.get(i).setIdCompra(((Number) id).longValue());
+        }
+    }
+
+    /**
+     * Monta só os predicados informados e pagina por keyset em (dt_inicio, id_compra) decrescentes.
+     * Com status e tipo por igualdade a ordenação sai direto do índice (status, tipo, dt_inicio),
+     * que no InnoDB já carrega o id_compra ao final.
+     */
+    @Override
+    public List<Compra> buscarFiltradas(FiltroCompraDTO filtro, Compra cursor, int limite) {
+        StringBuilder jpql = new StringBuilder("select c from Compra c join fetch c.livro join fetch c.cliente");
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new HashMap<>();
+
+        if (filtro.getStatus() != null) {
+            condicoes.add("c.status = :status");
+            parametros.put("status", filtro.getStatus());
+        }
+        if (filtro.getTipo() != null) {
+            condicoes.add("c.tipo = :tipo");
+            parametros.put("tipo", filtro.getTipo());
+        }
+        if (filtro.getClienteId() != null) {
+            condicoes.add("c.cliente.idPessoa = :clienteId");
+            parametros.put("clienteId", filtro.getClienteId());
+        }
+        if (filtro.getLivroId() != null) {
+            condicoes.add("c.livro.idLivro = :livroId");
+            parametros.put("livroId", filtro.getLivroId());
+        }
+        if (filtro.getInicioDe() != null) {
+            condicoes.add("c.dtInicio >= :inicioDe");
+            parametros.put("inicioDe", filtro.getInicioDe());
+        }
+        if (filtro.getInicioAte() != null) {
+            condicoes.add("c.dtInicio <= :inicioAte");
+            parametros.put("inicioAte", filtro.getInicioAte());
+        }
+        if (filtro.getFimDe() != null) {
+            condicoes.add("c.dtFim >= :fimDe");
+            parametros.put("fimDe", filtro.getFimDe());
+        }
+        if (filtro.getFimAte() != null) {
+            condicoes.add("c.dtFim <= :fimAte");
+            parametros.put("fimAte", filtro.getFimAte());
+        }
+        if (cursor != null) {
+            condicoes.add("(c.dtInicio < :cursorData or (c.dtInicio = :cursorData and c.idCompra < :cursorId))");
+            parametros.put("cursorData", cursor.getDtInicio());
+            parametros.put("cursorId", cursor.getIdCompra());
+        }
+
+        if (!condicoes.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", condicoes));
+        }
+        jpql.append(" order by c.dtInicio desc, c.idCompra desc");
+
+        TypedQuery<Compra> query = entityManager.createQuery(jpql.toString(), Compra.class);
+        parametros.forEach(query::setParameter);
+        return query.setMaxResults(limite).getResultList();
+    }
+}
@@ -1,15 +1,34 @@
 package com.biblioteca.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.biblioteca.dto.FuncionarioDTO;
 import com.biblioteca.model.Funcionario;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FuncionarioRepository extends JpaRepository<Funcionario, Long> {
     /**
-     * Busca funcionário por email (único).
+     * Busca funcionário por email (único). Resultado no cache de consultas (invalidado a cada escrita em TB_Pessoa).
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consulta-pessoas-email")
+    })
     Optional<Funcionario> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Listagem de funcionários montada direto no DTO: sem o hash da senha e sem tocar nas coleções.
+     * O id específico do tipo é o próprio idPessoa.
+     */
+    @Query("select new com.biblioteca.dto.FuncionarioDTO(f.idPessoa, f.idPessoa, f.nome, f.email, f.telefone, f.cpf, f.dtNascimento, f.genero, f.endereco, f.createdAt, f.createdByEmail, f.createdByRole) "
+         + "from Funcionario f order by f.idPessoa")
+    List<FuncionarioDTO> listarResumos();
+}
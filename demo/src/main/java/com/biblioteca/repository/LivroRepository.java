@@ -1,26 +1,91 @@
 package com.biblioteca.repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.biblioteca.dto.LivroResumoDTO;
 import com.biblioteca.model.Livro;
 
 @Repository
-public interface LivroRepository extends JpaRepository<Livro, Long> {
+public interface LivroRepository extends JpaRepository<Livro, Long>, LivroRepositoryCustom {
+    /**
+     * Colunas das listagens (sem sinopse e auditoria), montadas em {@link LivroResumoDTO} na própria consulta.
+     */
+    String SELECT_RESUMO = "select new com.biblioteca.dto.LivroResumoDTO(l.idLivro, l.titulo, l.autor, l.genero, "
+            + "l.dtPublicacao, l.vlCompra, l.vlAluguel, l.avaliacao, l.capaUrl, l.resumoCurto) from Livro l";
+
+
+    /**
+     * URLs de capa distintas do catálogo (geração das miniaturas pendentes ao subir).
+     */
+    @Query("select distinct l.capaUrl from Livro l where l.capaUrl is not null")
+    List<String> listarCapasUrl();
+
+    /**
+     * Busca por título contendo o termo (case-insensitive; % e _ do termo são literais).
+     */
+    @Query(SELECT_RESUMO + " where lower(l.titulo) like lower(concat('%', :#{escape(#titulo)}, '%')) escape :#{escapeCharacter()}")
+    List<LivroResumoDTO> buscarResumosPorTitulo(@Param("titulo") String titulo);
+
+    /**
+     * Busca por autor contendo o termo (case-insensitive; % e _ do termo são literais).
+     */
+    @Query(SELECT_RESUMO + " where lower(l.autor) like lower(concat('%', :#{escape(#autor)}, '%')) escape :#{escapeCharacter()}")
+    List<LivroResumoDTO> buscarResumosPorAutor(@Param("autor") String autor);
+
+    /**
+     * Busca por gênero exato. Resultado no cache de consultas (invalidado a cada escrita em TB_Livro).
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consulta-livros-genero")
+    })
+    @Query(SELECT_RESUMO + " where l.genero = :genero")
+    List<LivroResumoDTO> buscarResumosPorGenero(@Param("genero") String genero);
+
     /**
-     * Busca por título contendo o termo (case-insensitive).
+     * Lê livros em lotes ordenados por id (usado na reconstrução do índice de busca).
      */
-    List<Livro> findByTituloContainingIgnoreCase(String titulo);
+    List<Livro> findByIdLivroGreaterThanOrderByIdLivroAsc(Long idLivro, Pageable pageable);
 
     /**
-     * Busca por autor contendo o termo (case-insensitive).
+     * Aplica deltas aos agregados de avaliação e recalcula a média em um único UPDATE atômico.
+     * A média é atribuída primeiro, a partir dos valores antigos mais os deltas, para dar o mesmo
+     * resultado tanto em bancos que avaliam o SET da esquerda para a direita (MySQL) quanto nos demais.
      */
-    List<Livro> findByAutorContainingIgnoreCase(String autor);
+    @Modifying(flushAutomatically = true)
+    @Query("update Livro l set "
+            + "l.avaliacao = case when coalesce(l.qtAvaliacoes, 0) + :deltaQt > 0 "
+            + "then round((coalesce(l.somaAvaliacoes, 0) + :deltaSoma) / (coalesce(l.qtAvaliacoes, 0) + :deltaQt), 1) "
+            + "else null end, "
+            + "l.somaAvaliacoes = coalesce(l.somaAvaliacoes, 0) + :deltaSoma, "
+            + "l.qtAvaliacoes = coalesce(l.qtAvaliacoes, 0) + :deltaQt "
+            + "where l.idLivro = :idLivro")
+    int aplicarDeltaAvaliacao(@Param("idLivro") Long idLivro,
+                              @Param("deltaSoma") BigDecimal deltaSoma,
+                              @Param("deltaQt") int deltaQt);
 
     /**
-     * Busca por gênero exato.
+     * Preenche os agregados de livros anteriores às colunas soma/quantidade (valores nulos).
+     * Só a região de Livro é invalidada no cache de segundo nível.
      */
-    List<Livro> findByGenero(String genero);
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_livro"))
+    @Query(value = "UPDATE TB_Livro SET "
+            + "soma_avaliacoes = (SELECT COALESCE(SUM(a.nota), 0) FROM TB_Avaliacao a WHERE a.id_livro = TB_Livro.id_livro), "
+            + "qt_avaliacoes = (SELECT COUNT(*) FROM TB_Avaliacao a WHERE a.id_livro = TB_Livro.id_livro) "
+            + "WHERE qt_avaliacoes IS NULL OR soma_avaliacoes IS NULL",
+            nativeQuery = true)
+    int preencherAgregadosAvaliacao();
 }
\ No newline at end of file
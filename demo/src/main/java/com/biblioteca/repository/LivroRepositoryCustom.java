@@ -0,0 +1,16 @@
+package com.biblioteca.repository;
+
+import java.util.List;
+
+import com.biblioteca.dto.LivroResumoDTO;
+import com.biblioteca.enums.OrdenacaoLivro;
+import com.biblioteca.model.Livro;
+
+public interface LivroRepositoryCustom {
+    /**
+     * Busca uma página de livros por keyset: retorna até {@code limite} livros posicionados
+     * após o livro {@code cursor} na ordenação informada (ou do início, se cursor for nulo), já na
+     * forma resumida das listagens.
+     */
+    List<LivroResumoDTO> buscarPagina(OrdenacaoLivro ordenacao, Livro cursor, int limite);
+}
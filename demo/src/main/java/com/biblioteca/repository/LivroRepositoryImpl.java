@@ -0,0 +1,63 @@
+package com.biblioteca.repository;
+
+import java.util.List;
+
+import com.biblioteca.dto.LivroResumoDTO;
+import com.biblioteca.enums.OrdenacaoLivro;
+import com.biblioteca.model.Livro;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class LivroRepositoryImpl implements LivroRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Monta a consulta keyset sobre (coluna, id_livro), coberta pelos índices compostos de TB_Livro.
+     * Segue a ordenação padrão do MySQL para nulos: primeiro em ASC, por último em DESC.
+     */
+    @Override
+    public List<LivroResumoDTO> buscarPagina(OrdenacaoLivro ordenacao, Livro cursor, int limite) {
+        String coluna = "l." + ordenacao.getCampo();
+        boolean desc = ordenacao.isDescendente();
+        String direcao = desc ? "desc" : "asc";
+        String comparador = desc ? "<" : ">";
+
+        StringBuilder jpql = new StringBuilder(LivroRepository.SELECT_RESUMO);
+        Object valorCursor = null;
+        if (cursor != null) {
+            valorCursor = ordenacao.valorDe(cursor);
+            if (valorCursor == null) {
+                if (desc) {
+                    // Nulos vêm por último: restam apenas nulos com id menor
+                    jpql.append(" where ").append(coluna).append(" is null and l.idLivro < :id");
+                } else {
+                    // Nulos vêm primeiro: restam nulos com id maior e todos os não nulos
+                    jpql.append(" where (").append(coluna).append(" is null and l.idLivro > :id) or ")
+                        .append(coluna).append(" is not null");
+                }
+            } else {
+                jpql.append(" where (").append(coluna).append(' ').append(comparador).append(" :valor or (")
+                    .append(coluna).append(" = :valor and l.idLivro ").append(comparador).append(" :id)");
+                if (desc) {
+                    jpql.append(" or ").append(coluna).append(" is null");
+                }
+                jpql.append(')');
+            }
+        }
+        jpql.append(" order by ").append(coluna).append(' ').append(direcao)
+            .append(", l.idLivro ").append(direcao);
+
+        TypedQuery<LivroResumoDTO> query = entityManager.createQuery(jpql.toString(), LivroResumoDTO.class);
+        if (cursor != null) {
+            query.setParameter("id", cursor.getIdLivro());
+            if (valorCursor != null) {
+                query.setParameter("valor", valorCursor);
+            }
+        }
+        return query.setMaxResults(limite).getResultList();
+    }
+}
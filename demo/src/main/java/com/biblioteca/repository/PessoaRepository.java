@@ -0,0 +1,46 @@
+package com.biblioteca.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.dto.CredenciaisDTO;
+import com.biblioteca.model.Pessoa;
+
+@Repository
+public interface PessoaRepository extends JpaRepository<Pessoa, Long> {
+    /**
+     * Busca as credenciais pelo índice único de email em TB_Pessoa e resolve o subtipo
+     * (Cliente, Funcionario ou Admin) na mesma consulta, via junções por chave primária.
+     */
+    @Query("select new com.biblioteca.dto.CredenciaisDTO(p.idPessoa, p.nome, p.senha, "
+         + "case type(p) when Cliente then 'CLIENTE' when Funcionario then 'FUNCIONARIO' else 'ADMIN' end) "
+         + "from Pessoa p where p.email = :email")
+    Optional<CredenciaisDTO> findCredenciaisByEmail(@Param("email") String email);
+
+    /**
+     * Lote de [idPessoa, email] com id maior que o informado, em ordem de id (carga do filtro de Bloom).
+     */
+    @Query("select p.idPessoa, p.email from Pessoa p where p.idPessoa > :after order by p.idPessoa")
+    List<Object[]> findChavesUnicidade(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Verifica se o email já pertence a qualquer pessoa (cliente, funcionário ou admin).
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * Regrava o hash da senha (rehash no login quando o custo do BCrypt mudou).
+     */
+    @Transactional
+    @Modifying
+    @Query("update Pessoa p set p.senha = :senha where p.idPessoa = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
+}
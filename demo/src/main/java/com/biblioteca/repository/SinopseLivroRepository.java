@@ -0,0 +1,10 @@
+package com.biblioteca.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.model.SinopseLivro;
+
+@Repository
+public interface SinopseLivroRepository extends JpaRepository<SinopseLivro, Long> {
+}
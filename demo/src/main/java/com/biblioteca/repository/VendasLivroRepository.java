@@ -0,0 +1,44 @@
+package com.biblioteca.repository;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import com.biblioteca.model.VendasLivro;
+
+@Repository
+public interface VendasLivroRepository extends JpaRepository<VendasLivro, Long> {
+    /** Condição SQL (sobre TB_Compra c e TB_Livro l) de uma linha que conta como aluguel. */
+    String ALUGUEL = "(c.tipo = 'ALUGUEL' OR (c.tipo IS NULL AND l.vl_aluguel IS NOT NULL))";
+
+    /**
+     * Soma deltas aos contadores do livro de forma atômica no banco, criando a linha se necessário.
+     * A tabela afetada é declarada para que o Hibernate não esvazie o cache de segundo nível inteiro
+     * (o padrão para SQL nativo sem espaços de sincronização).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_livro_vendas"))
+    @Query(value = "INSERT INTO TB_Livro_Vendas (id_livro, qt_compras, qt_alugueis) VALUES (:idLivro, :compras, :alugueis) "
+            + "ON DUPLICATE KEY UPDATE qt_compras = qt_compras + :compras, qt_alugueis = qt_alugueis + :alugueis",
+            nativeQuery = true)
+    int incrementar(@Param("idLivro") Long idLivro, @Param("compras") long compras, @Param("alugueis") long alugueis);
+
+    /**
+     * Preenche os contadores a partir de TB_Compra (carga inicial, com a tabela vazia).
+     * Compras sem tipo seguem a mesma regra de {@code MigracaoComprasLegado}: ALUGUEL quando o livro
+     * tem preço de aluguel, COMPRA nos demais casos.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_livro_vendas"))
+    @Query(value = "INSERT INTO TB_Livro_Vendas (id_livro, qt_compras, qt_alugueis) "
+            + "SELECT c.id_livro, SUM(CASE WHEN " + ALUGUEL + " THEN 0 ELSE 1 END), SUM(CASE WHEN " + ALUGUEL + " THEN 1 ELSE 0 END) "
+            + "FROM TB_Compra c JOIN TB_Livro l ON l.id_livro = c.id_livro WHERE c.status <> 'CANCELADA' GROUP BY c.id_livro",
+            nativeQuery = true)
+    int recalcularDeCompras();
+}
@@ -0,0 +1,145 @@
+package com.biblioteca.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.biblioteca.exception.ServicoSobrecarregadoException;
+
+/**
+ * PasswordEncoder BCrypt que executa encode/matches em um pool próprio, limitado ao número de núcleos,
+ * em vez de ocupar as threads do Tomcat. Com a fila cheia (ou espera acima do limite) a operação falha
+ * na hora com {@link ServicoSobrecarregadoException} (503), preservando as leituras do catálogo.
+ *
+ * O custo do BCrypt é fixo por configuração ou calibrado na inicialização para o tempo alvo no host.
+ * {@link #upgradeEncoding(String)} indica hashes gravados com custo diferente, para rehash no login.
+ */
+public class CodificadorSenhas implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CodificadorSenhas.class);
+
+    private static final Pattern HASH_BCRYPT = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$.{53}$");
+
+    private final int custo;
+    private final BCryptPasswordEncoder bcrypt;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    /**
+     * @param custo custo fixo do BCrypt; 0 calibra pelo tempo alvo
+     * @param alvoMs tempo alvo de um hash na calibração
+     * @param custoMinimo menor custo aceito (a calibração nunca fica abaixo dele)
+     * @param custoMaximo maior custo aceito
+     * @param threads tamanho do pool; 0 usa o número de núcleos
+     * @param fila tarefas aguardando além das em execução
+     * @param timeoutMs espera máxima (fila + execução) antes de desistir com 503
+     */
+    public CodificadorSenhas(int custo, long alvoMs, int custoMinimo, int custoMaximo,
+                             int threads, int fila, long timeoutMs) {
+        this.custo = custo > 0 ? custo : calibrar(alvoMs, custoMinimo, custoMaximo);
+        this.bcrypt = new BCryptPasswordEncoder(this.custo);
+        this.timeoutMs = timeoutMs;
+
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fila)),
+                r -> {
+                    Thread t = new Thread(r, "hash-senha-" + sequencia.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("BCrypt com custo {} em pool de {} threads (fila {})", this.custo, tamanho, fila);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True quando o hash é BCrypt com custo diferente do atual (maior ou menor).
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) return false;
+        Matcher m = HASH_BCRYPT.matcher(encodedPassword);
+        return m.matches() && Integer.parseInt(m.group(1)) != custo;
+    }
+
+    public int getCusto() { return custo; }
+
+    public ThreadPoolExecutor getExecutor() { return executor; }
+
+    /**
+     * Chamado pelo Spring ao encerrar o contexto (método de destruição inferido do @Bean).
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new ServicoSobrecarregadoException("Servidor ocupado, tente novamente em instantes");
+        }
+        try {
+            return futuro.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new ServicoSobrecarregadoException("Servidor ocupado, tente novamente em instantes");
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServicoSobrecarregadoException("Operação interrompida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Mede um hash no custo mínimo (após aquecer) e sobe o custo enquanto o tempo estimado,
+     * que dobra a cada nível, couber no alvo.
+     */
+    private static int calibrar(long alvoMs, int custoMinimo, int custoMaximo) {
+        BCryptPasswordEncoder referencia = new BCryptPasswordEncoder(custoMinimo);
+        referencia.encode("calibracao");
+        long melhorNs = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long inicio = System.nanoTime();
+            referencia.encode("calibracao");
+            melhorNs = Math.min(melhorNs, System.nanoTime() - inicio);
+        }
+        double estimadoMs = melhorNs / 1_000_000.0;
+        int escolhido = custoMinimo;
+        while (escolhido < custoMaximo && estimadoMs * 2 <= alvoMs) {
+            estimadoMs *= 2;
+            escolhido++;
+        }
+        log.info("Calibração BCrypt: custo {} (~{} ms por hash, alvo {} ms)",
+                escolhido, Math.round(estimadoMs), alvoMs);
+        return escolhido;
+    }
+}
@@ -35,22 +35,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = header.substring(7);
             
             try {
-                if (jwtUtil.validateToken(token)) {
-                    String email = jwtUtil.getEmailFromToken(token);
-                    String role = jwtUtil.getRoleFromToken(token);
-                    Long userId = jwtUtil.getUserIdFromToken(token);
+                // Um único parse (ou acerto no cache) por requisição
+                JwtPrincipal principal = jwtUtil.parseToken(token).orElse(null);
+                if (principal != null) {
+                    String role = principal.role();
                     
                     // Criar autenticação
                     UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(
-                            email, 
+                            principal.email(), 
                             null, 
                             Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
                         );
                     
                     // Adicionar detalhes personalizados
                     Map<String, Object> details = new HashMap<>();
-                    details.put("userId", userId);
+                    details.put("userId", principal.userId());
                     details.put("role", role);
                     authentication.setDetails(details);
                     
@@ -0,0 +1,13 @@
+package com.biblioteca.security;
+
+import java.time.Instant;
+
+/**
+ * Dados extraídos de um token JWT já verificado (assinatura e expiração).
+ */
+public record JwtPrincipal(String email, String role, Long userId, Instant expiraEm) {
+
+    public boolean expirado(Instant agora) {
+        return expiraEm != null && !agora.isBefore(expiraEm);
+    }
+}
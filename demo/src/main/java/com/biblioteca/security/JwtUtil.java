@@ -5,24 +5,50 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
-    
-    @Value("${jwt.secret:suaChaveSecretaSuperSeguraComPeloMenos256BitsParaGarantirSegurancaTotal}")
-    private String secret;
-    
-    @Value("${jwt.expiration:86400000}") // 24 horas
-    private Long expiration;
-    
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+
+    private final Long expiration;
+
+    // Derivada uma única vez; o segredo não muda durante a execução
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    /**
+     * Tokens já verificados, por SHA-256 do token (o token em si não fica em memória).
+     * LRU limitado; entradas expiradas são descartadas ao serem consultadas.
+     */
+    private final int cacheMaxEntradas;
+    private final LinkedHashMap<ByteBuffer, JwtPrincipal> verificados;
+
+    public JwtUtil(
+            @Value("${jwt.secret:suaChaveSecretaSuperSeguraComPeloMenos256BitsParaGarantirSegurancaTotal}") String secret,
+            @Value("${jwt.expiration:86400000}") Long expiration, // 24 horas
+            @Value("${jwt.cache.max-entradas:10000}") int cacheMaxEntradas) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.cacheMaxEntradas = cacheMaxEntradas;
+        this.verificados = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, JwtPrincipal> maisAntiga) {
+                return size() > JwtUtil.this.cacheMaxEntradas;
+            }
+        };
     }
-    
+
     /**
      * Gera token JWT com email e role
      */
@@ -30,64 +56,98 @@ public class JwtUtil {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
         claims.put("userId", userId);
-        
+
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-    
+
+    /**
+     * Verifica assinatura e expiração com um único parse e devolve os dados do usuário.
+     * Tokens repetidos são atendidos pelo cache sem nova verificação HMAC.
+     * @return vazio quando o token é inválido, malformado ou expirado
+     */
+    public Optional<JwtPrincipal> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Instant agora = Instant.now();
+        ByteBuffer chave = cacheMaxEntradas > 0 ? hash(token) : null;
+        if (chave != null) {
+            JwtPrincipal emCache;
+            synchronized (verificados) {
+                emCache = verificados.get(chave);
+                if (emCache != null && emCache.expirado(agora)) {
+                    verificados.remove(chave);
+                    return Optional.empty();
+                }
+            }
+            if (emCache != null) {
+                return Optional.of(emCache);
+            }
+        }
+
+        JwtPrincipal principal;
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date exp = claims.getExpiration();
+            principal = new JwtPrincipal(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.get("userId", Long.class),
+                    exp != null ? exp.toInstant() : null);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (principal.expirado(agora)) {
+            return Optional.empty();
+        }
+        if (chave != null) {
+            synchronized (verificados) {
+                verificados.put(chave, principal);
+            }
+        }
+        return Optional.of(principal);
+    }
+
     /**
      * Extrai email do token
      */
     public String getEmailFromToken(String token) {
-        return getClaims(token).getSubject();
+        return parseToken(token).map(JwtPrincipal::email).orElse(null);
     }
-    
+
     /**
      * Extrai role do token
      */
     public String getRoleFromToken(String token) {
-        return getClaims(token).get("role", String.class);
+        return parseToken(token).map(JwtPrincipal::role).orElse(null);
     }
-    
+
     /**
      * Extrai userId do token
      */
     public Long getUserIdFromToken(String token) {
-        return getClaims(token).get("userId", Long.class);
+        return parseToken(token).map(JwtPrincipal::userId).orElse(null);
     }
-    
+
     /**
      * Valida o token
      */
     public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
+    }
+
+    private static ByteBuffer hash(String token) {
         try {
-            getClaims(token);
-            return !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
         }
     }
-    
-    /**
-     * Verifica se o token está expirado
-     */
-    private boolean isTokenExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
-    }
-    
-    /**
-     * Extrai claims do token
-     */
-    private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.biblioteca.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Autentica o coletor do Prometheus em /actuator/prometheus com um token estático
+ * (Authorization: Bearer), concedendo ROLE_METRICAS. Sem token configurado o filtro não faz nada
+ * e só administradores (JWT) acessam o endpoint.
+ */
+public class TokenMetricasFilter extends OncePerRequestFilter {
+
+    public static final String ENDPOINT = "/actuator/prometheus";
+
+    private final byte[] token;
+
+    public TokenMetricasFilter(String token) {
+        this.token = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return token == null || !request.getRequestURI().equals(request.getContextPath() + ENDPOINT);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            byte[] recebido = header.substring(7).getBytes(StandardCharsets.UTF_8);
+            // Comparação em tempo constante
+            if (MessageDigest.isEqual(token, recebido)) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "prometheus", null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_METRICAS"))));
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -4,12 +4,15 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.biblioteca.exception.BusinessException;
 import com.biblioteca.exception.ResourceNotFoundException;
+import com.biblioteca.exception.ViolacaoUnicidade;
+import com.biblioteca.dto.AdminDTO;
 import com.biblioteca.model.Admin;
 import com.biblioteca.repository.AdminRepository;
 
@@ -23,22 +26,27 @@ public class AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private FiltroPessoasCadastradas filtroPessoas;
+    
     /**
      * Lista todos os administradores.
      */
-    public List<Admin> listarTodos() {
-        return adminRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<AdminDTO> listarTodos() {
+        return adminRepository.listarResumos();
     }
     
     /**
      * Busca administrador por ID.
      */
+    @Transactional(readOnly = true)
     public Optional<Admin> buscarPorId(Long id) {
         return adminRepository.findById(id);
     }
     
     /**
-     * Cria administrador com validação e sincroniza idAdmin com idPessoa.
+     * Cria administrador com validação e idAdmin derivado do idPessoa.
      */
     public Admin criar(Admin admin) {
         validarAdmin(admin);
@@ -66,11 +74,14 @@ public class AdminService {
             admin.setCreatedByRole(role);
         }
         admin.setCreatedAt(java.time.LocalDateTime.now());
-        Admin salvo = adminRepository.save(admin);
-        if (salvo.getIdAdmin() == null) {
-            salvo.setIdAdmin(salvo.getIdPessoa());
-            salvo = adminRepository.save(salvo);
+        Admin salvo;
+        try {
+            // Unicidade de CPF/email garantida pelas constraints de TB_Pessoa
+            salvo = adminRepository.saveAndFlush(admin);
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, admin);
         }
+        filtroPessoas.adicionar(salvo.getEmail());
         return salvo;
     }
     
@@ -96,7 +107,14 @@ public class AdminService {
             adminExistente.setSenha(novaSenha);
         }
         
-        return adminRepository.save(adminExistente);
+        Admin salvo;
+        try {
+            salvo = adminRepository.saveAndFlush(adminExistente);
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, adminExistente);
+        }
+        filtroPessoas.adicionar(salvo.getEmail());
+        return salvo;
     }
     
     /**
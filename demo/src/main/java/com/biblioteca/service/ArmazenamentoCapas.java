@@ -0,0 +1,155 @@
+package com.biblioteca.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.biblioteca.dto.CapaDTO;
+import com.biblioteca.exception.BusinessException;
+
+/**
+ * Capas enviadas, gravadas em disco pelo SHA-256 do conteúdo ({@code <diretorio>/ab/abcd...ef.jpg}).
+ * O mesmo arquivo enviado de novo cai no mesmo nome e não é gravado duas vezes; como o conteúdo de um
+ * nome nunca muda, as URLs podem ser cacheadas para sempre. O tipo vem dos bytes iniciais (JPEG, PNG,
+ * WebP ou GIF), não do nome nem do Content-Type enviados.
+ */
+@Component
+public class ArmazenamentoCapas {
+
+    private static final Logger log = LoggerFactory.getLogger(ArmazenamentoCapas.class);
+
+    public static final String PREFIXO_URL = "/api/capas/";
+
+    private static final Pattern NOME_ARQUIVO = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|webp|gif)");
+    private static final Map<String, String> TIPOS = Map.of(
+        "jpg", "image/jpeg",
+        "png", "image/png",
+        "webp", "image/webp",
+        "gif", "image/gif"
+    );
+
+    private final Path diretorio;
+    private final Path temporarios;
+
+    public ArmazenamentoCapas(@Value("${capas.diretorio:dados/capas}") String diretorio) throws IOException {
+        this.diretorio = Path.of(diretorio).toAbsolutePath().normalize();
+        // No mesmo sistema de arquivos do destino, para que a publicação seja um rename atômico
+        this.temporarios = Files.createDirectories(this.diretorio.resolve(".tmp"));
+    }
+
+    /**
+     * Grava a capa (ou reaproveita a já existente com o mesmo conteúdo) e devolve sua URL pública.
+     */
+    public CapaDTO salvar(MultipartFile arquivo) {
+        if (arquivo == null || arquivo.isEmpty()) {
+            throw new BusinessException("Arquivo de capa vazio");
+        }
+        Path temporario = null;
+        try {
+            temporario = Files.createTempFile(temporarios, "upload-", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            try (InputStream entrada = new DigestInputStream(arquivo.getInputStream(), sha256)) {
+                Files.copy(entrada, temporario, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String extensao = detectarExtensao(temporario);
+            if (extensao == null) {
+                throw new BusinessException("Formato de capa não suportado (use JPEG, PNG, WebP ou GIF)");
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            String nome = hash + "." + extensao;
+            Path destino = caminho(nome);
+            long tamanho = Files.size(temporario);
+
+            boolean duplicada = Files.exists(destino);
+            if (!duplicada) {
+                Files.createDirectories(destino.getParent());
+                try {
+                    Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+                    temporario = null;
+                } catch (FileAlreadyExistsException e) {
+                    // Mesmo conteúdo publicado por um envio concorrente
+                    duplicada = true;
+                }
+            }
+            log.debug("Capa {} {} ({} bytes)", nome, duplicada ? "reaproveitada" : "gravada", tamanho);
+            return new CapaDTO(PREFIXO_URL + nome, hash, TIPOS.get(extensao), tamanho, duplicada);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar a capa", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (temporario != null) {
+                try {
+                    Files.deleteIfExists(temporario);
+                } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    /**
+     * Arquivo da capa pelo nome publicado na URL, ou null se o nome for inválido ou a capa não existir.
+     */
+    public Path localizar(String nome) {
+        if (nome == null || !NOME_ARQUIVO.matcher(nome).matches()) return null;
+        Path arquivo = caminho(nome);
+        return Files.isRegularFile(arquivo) ? arquivo : null;
+    }
+
+    /**
+     * Content-Type da capa pela extensão do nome publicado.
+     */
+    public static String tipo(String nome) {
+        return TIPOS.getOrDefault(nome.substring(nome.lastIndexOf('.') + 1), "application/octet-stream");
+    }
+
+    /**
+     * Hash (ETag) da capa pelo nome publicado.
+     */
+    public static String hash(String nome) {
+        return nome.substring(0, nome.lastIndexOf('.'));
+    }
+
+    private Path caminho(String nome) {
+        return diretorio.resolve(nome.substring(0, 2)).resolve(nome);
+    }
+
+    private static String detectarExtensao(Path arquivo) throws IOException {
+        byte[] b = new byte[12];
+        int lidos;
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            lidos = entrada.readNBytes(b, 0, b.length);
+        }
+        if (lidos >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (lidos >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G'
+                && b[4] == 0x0D && b[5] == 0x0A && b[6] == 0x1A && b[7] == 0x0A) {
+            return "png";
+        }
+        if (lidos >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') {
+            return "webp";
+        }
+        if (lidos >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8'
+                && (b[4] == '7' || b[4] == '9') && b[5] == 'a') {
+            return "gif";
+        }
+        return null;
+    }
+}
@@ -1,30 +1,22 @@
 package com.biblioteca.service;
 
+import com.biblioteca.dto.CredenciaisDTO;
 import com.biblioteca.dto.LoginRequest;
 import com.biblioteca.dto.LoginResponse;
 import com.biblioteca.exception.BusinessException;
-import com.biblioteca.model.Admin;
-import com.biblioteca.model.Cliente;
-import com.biblioteca.model.Funcionario;
-import com.biblioteca.repository.AdminRepository;
-import com.biblioteca.repository.ClienteRepository;
-import com.biblioteca.repository.FuncionarioRepository;
+import com.biblioteca.repository.PessoaRepository;
 import com.biblioteca.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 public class AuthService {
     
     @Autowired
-    private ClienteRepository clienteRepository;
-    
-    @Autowired
-    private FuncionarioRepository funcionarioRepository;
-    
-    @Autowired
-    private AdminRepository adminRepository;
+    private PessoaRepository pessoaRepository;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -32,32 +24,26 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private FiltroPessoasCadastradas filtroPessoas;
+    
     /**
-     * Realiza login verificando em todas as tabelas (Cliente, Funcionario, Admin)
+     * Realiza login com uma única consulta em TB_Pessoa, que já traz o hash da senha
+     * e o tipo (Cliente, Funcionario ou Admin) para montar o token.
      */
+    @Timed(value = "biblioteca.auth.login", description = "Logins (tag exception=none para sucesso)", histogram = true)
     public LoginResponse login(LoginRequest request) {
         String email = request.getEmail();
         String senha = request.getSenha();
         
-        // Tentar login como Cliente
-        Cliente cliente = clienteRepository.findByEmail(email).orElse(null);
-        if (cliente != null && passwordEncoder.matches(senha, cliente.getSenha())) {
-            String token = jwtUtil.generateToken(email, "CLIENTE", cliente.getId());
-            return new LoginResponse(token, cliente.getNome(), email, "CLIENTE", cliente.getId());
-        }
-        
-        // Tentar login como Funcionário
-        Funcionario funcionario = funcionarioRepository.findByEmail(email).orElse(null);
-        if (funcionario != null && passwordEncoder.matches(senha, funcionario.getSenha())) {
-            String token = jwtUtil.generateToken(email, "FUNCIONARIO", funcionario.getId());
-            return new LoginResponse(token, funcionario.getNome(), email, "FUNCIONARIO", funcionario.getId());
-        }
-        
-        // Tentar login como Admin
-        Admin admin = adminRepository.findByEmail(email).orElse(null);
-        if (admin != null && passwordEncoder.matches(senha, admin.getSenha())) {
-            String token = jwtUtil.generateToken(email, "ADMIN", admin.getId());
-            return new LoginResponse(token, admin.getNome(), email, "ADMIN", admin.getId());
+        CredenciaisDTO credenciais = pessoaRepository.findCredenciaisByEmail(email).orElse(null);
+        if (credenciais != null && passwordEncoder.matches(senha, credenciais.getSenha())) {
+            // Hash gravado com outro custo do BCrypt: regrava com o custo atual aproveitando a senha em claro
+            if (passwordEncoder.upgradeEncoding(credenciais.getSenha())) {
+                pessoaRepository.atualizarSenha(credenciais.getIdPessoa(), passwordEncoder.encode(senha));
+            }
+            String token = jwtUtil.generateToken(email, credenciais.getRole(), credenciais.getIdPessoa());
+            return new LoginResponse(token, credenciais.getNome(), email, credenciais.getRole(), credenciais.getIdPessoa());
         }
         
         throw new BusinessException("Email ou senha inválidos");
@@ -67,8 +53,7 @@ public class AuthService {
      * Verifica se um email já está cadastrado
      */
     public boolean emailJaCadastrado(String email) {
-        return clienteRepository.findByEmail(email).isPresent() ||
-               funcionarioRepository.findByEmail(email).isPresent() ||
-               adminRepository.findByEmail(email).isPresent();
+        // Negativo do filtro de Bloom é definitivo: dispensa a consulta
+        return filtroPessoas.emailCadastrado(email, () -> pessoaRepository.existsByEmail(email));
     }
-}
\ No newline at end of file
+}
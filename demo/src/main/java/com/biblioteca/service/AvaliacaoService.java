@@ -5,9 +5,12 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.biblioteca.cache.CacheRespostas;
 import com.biblioteca.exception.BusinessException;
 import com.biblioteca.exception.ResourceNotFoundException;
 import com.biblioteca.model.Avaliacao;
@@ -18,6 +21,8 @@ import com.biblioteca.repository.ClienteRepository;
 import com.biblioteca.repository.LivroRepository;
 import com.biblioteca.repository.CompraRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 @Transactional
 public class AvaliacaoService {
@@ -34,9 +39,13 @@ public class AvaliacaoService {
     @Autowired
     private CompraRepository compraRepository;
     
+    @Autowired
+    private CacheRespostas cacheRespostas;
+    
     /**
      * Lista todas as avaliações registradas.
      */
+    @Transactional(readOnly = true)
     public List<Avaliacao> listarTodas() {
         return avaliacaoRepository.findAll();
     }
@@ -44,6 +53,7 @@ public class AvaliacaoService {
     /**
      * Busca uma avaliação por ID.
      */
+    @Transactional(readOnly = true)
     public Optional<Avaliacao> buscarPorId(Long id) {
         return avaliacaoRepository.findById(id);
     }
@@ -51,6 +61,7 @@ public class AvaliacaoService {
     /**
      * Lista avaliações de um livro específico.
      */
+    @Transactional(readOnly = true)
     public List<Avaliacao> buscarPorLivro(Long livroId) {
         Livro livro = livroRepository.findById(livroId)
             .orElseThrow(() -> new ResourceNotFoundException("Livro não encontrado"));
@@ -60,6 +71,7 @@ public class AvaliacaoService {
     /**
      * Lista avaliações feitas por um cliente.
      */
+    @Transactional(readOnly = true)
     public List<Avaliacao> buscarPorCliente(Long clienteId) {
         Cliente cliente = clienteRepository.findById(clienteId)
             .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado"));
@@ -69,6 +81,7 @@ public class AvaliacaoService {
     /**
      * Cria uma avaliação verificando elegibilidade (compra/aluguel não cancelada) e atualiza a média do livro.
      */
+    @Timed(value = "biblioteca.avaliacoes.criar", description = "Criação de avaliação", histogram = true)
     public Avaliacao criar(Avaliacao avaliacao) {
         validarAvaliacao(avaliacao);
         
@@ -88,15 +101,16 @@ public class AvaliacaoService {
         avaliacao.setLivro(livro);
         
         Avaliacao avaliacaoSalva = avaliacaoRepository.save(avaliacao);
-        atualizarMediaAvaliacoes(livro.getIdLivro());
+        aplicarNaMedia(livro.getIdLivro(), avaliacaoSalva.getNota(), 1);
         
         return avaliacaoSalva;
     }
     
     public Avaliacao atualizar(Long id, Avaliacao avaliacao) {
-        Avaliacao avaliacaoExistente = avaliacaoRepository.findById(id)
+        Avaliacao avaliacaoExistente = avaliacaoRepository.findParaAtualizacaoByIdAvaliacao(id)
             .orElseThrow(() -> new ResourceNotFoundException("Avaliação não encontrada"));
         
+        BigDecimal notaAnterior = avaliacaoExistente.getNota();
         if (avaliacao.getNota() != null) {
             if (avaliacao.getNota().compareTo(BigDecimal.ZERO) < 0 || 
                 avaliacao.getNota().compareTo(new BigDecimal("5.0")) > 0) {
@@ -106,7 +120,8 @@ public class AvaliacaoService {
         }
         
         Avaliacao avaliacaoAtualizada = avaliacaoRepository.save(avaliacaoExistente);
-        atualizarMediaAvaliacoes(avaliacaoExistente.getLivro().getIdLivro());
+        aplicarNaMedia(avaliacaoExistente.getLivro().getIdLivro(),
+            avaliacaoAtualizada.getNota().subtract(notaAnterior), 0);
         
         return avaliacaoAtualizada;
     }
@@ -115,12 +130,12 @@ public class AvaliacaoService {
      * Exclui uma avaliação e recalcula a média do livro.
      */
     public void deletar(Long id) {
-        Avaliacao avaliacao = avaliacaoRepository.findById(id)
+        Avaliacao avaliacao = avaliacaoRepository.findParaAtualizacaoByIdAvaliacao(id)
             .orElseThrow(() -> new ResourceNotFoundException("Avaliação não encontrada"));
         
         Long livroId = avaliacao.getLivro().getIdLivro();
         avaliacaoRepository.deleteById(id);
-        atualizarMediaAvaliacoes(livroId);
+        aplicarNaMedia(livroId, avaliacao.getNota().negate(), -1);
     }
     
     private void validarAvaliacao(Avaliacao avaliacao) {
@@ -132,24 +147,24 @@ public class AvaliacaoService {
     }
     
     /**
-     * Recalcula e atualiza a média de avaliações do livro.
+     * Atualiza soma, quantidade e média do livro com um UPDATE atômico no banco (O(1) por escrita,
+     * sem perder atualizações concorrentes) e invalida as respostas em cache afetadas.
      */
-    private void atualizarMediaAvaliacoes(Long livroId) {
-        Livro livro = livroRepository.findById(livroId)
-            .orElseThrow(() -> new ResourceNotFoundException("Livro não encontrado"));
-        
-        List<Avaliacao> avaliacoes = avaliacaoRepository.findByLivro(livro);
-        
-        if (avaliacoes.isEmpty()) {
-            livro.setAvaliacao(null);
-        } else {
-            BigDecimal soma = avaliacoes.stream()
-                .map(Avaliacao::getNota)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-            BigDecimal media = soma.divide(new BigDecimal(avaliacoes.size()), 1, java.math.RoundingMode.HALF_UP);
-            livro.setAvaliacao(media);
+    private void aplicarNaMedia(Long livroId, BigDecimal deltaSoma, int deltaQuantidade) {
+        int atualizados = livroRepository.aplicarDeltaAvaliacao(livroId, deltaSoma, deltaQuantidade);
+        if (atualizados == 0) {
+            throw new ResourceNotFoundException("Livro não encontrado");
         }
-        
-        livroRepository.save(livro);
+        // Média alterada: invalida o livro, a listagem e as avaliações do livro
+        cacheRespostas.invalidar(CacheRespostas.LIVROS_LISTA, CacheRespostas.livro(livroId),
+            CacheRespostas.avaliacoesDoLivro(livroId));
+    }
+    
+    /**
+     * Preenche, uma única vez, os agregados dos livros avaliados antes da existência das colunas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preencherAgregadosPendentes() {
+        livroRepository.preencherAgregadosAvaliacao();
     }
 }
\ No newline at end of file
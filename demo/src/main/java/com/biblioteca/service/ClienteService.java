@@ -6,14 +6,23 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.biblioteca.cache.CacheRespostas;
 import com.biblioteca.exception.BusinessException;
 import com.biblioteca.exception.ResourceNotFoundException;
+import com.biblioteca.exception.ViolacaoUnicidade;
+import com.biblioteca.model.Avaliacao;
+import com.biblioteca.dto.ClienteDTO;
 import com.biblioteca.model.Cliente;
+import com.biblioteca.model.Compra;
+import com.biblioteca.repository.AvaliacaoRepository;
 import com.biblioteca.repository.ClienteRepository;
+import com.biblioteca.repository.CompraRepository;
+import com.biblioteca.repository.LivroRepository;
 
 @Service
 @Transactional
@@ -25,19 +34,38 @@ public class ClienteService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private CacheRespostas cacheRespostas;
+    
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+    
+    @Autowired
+    private CompraRepository compraRepository;
+    
+    @Autowired
+    private LivroRepository livroRepository;
+    
+    @Autowired
+    private RankingMaisVendidos rankingMaisVendidos;
+    
+    @Autowired
+    private FiltroPessoasCadastradas filtroPessoas;
+    
     /**
      * Lista todos os clientes do sistema.
      * Não aplica filtros adicionais; retorna todos os registros.
      */
-    public List<Cliente> listarTodos() {
-        // Retornar todos os clientes, independentemente do campo 'ativo'
-        return clienteRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<ClienteDTO> listarTodos() {
+        return clienteRepository.listarResumos();
     }
     
     /**
      * Busca um cliente pelo identificador da pessoa/cliente.
      * @param id ID da pessoa (chave da herança JOINED)
      */
+    @Transactional(readOnly = true)
     public Optional<Cliente> buscarPorId(Long id) {
         return clienteRepository.findById(id);
     }
@@ -53,6 +81,7 @@ public class ClienteService {
      * Busca cliente por CPF.
      * @param cpf documento no formato 11 ou 14 dígitos
      */
+    @Transactional(readOnly = true)
     public Optional<Cliente> buscarPorCpf(String cpf) {
         return clienteRepository.findByCpf(cpf);
     }
@@ -60,6 +89,7 @@ public class ClienteService {
     /**
      * Busca cliente por email (case-insensitive na criação/atualização).
      */
+    @Transactional(readOnly = true)
     public Optional<Cliente> buscarPorEmail(String email) {
         return clienteRepository.findByEmail(email);
     }
@@ -68,6 +98,7 @@ public class ClienteService {
      * Autentica um cliente verificando o hash da senha.
      * @return cliente autenticado quando credenciais válidas, senão vazio
      */
+    @Transactional(readOnly = true)
     public Optional<Cliente> autenticar(String email, String senha) {
         Optional<Cliente> clienteOpt = clienteRepository.findByEmail(email);
         if (clienteOpt.isPresent()) {
@@ -84,7 +115,7 @@ public class ClienteService {
      * - Normaliza email para minúsculo
      * - Define dtCadastro quando ausente
      * - Criptografa senha quando fornecida e não criptografada
-     * - Verifica duplicidade de CPF e email
+     * - Duplicidade de CPF e email fica a cargo das constraints únicas (traduzidas em BusinessException)
      */
     public Cliente criar(Cliente cliente) {
         // Normalizar email (minúsculo) e gênero (nulo se vazio)
@@ -132,20 +163,21 @@ public class ClienteService {
         }
 
         validarCliente(cliente);
-        verificarCpfDuplicado(cliente.getCpf(), null);
-        verificarEmailDuplicado(cliente.getEmail(), null);
 
-        Cliente salvo = clienteRepository.save(cliente);
-        if (salvo.getIdCliente() == null) {
-            salvo.setIdCliente(salvo.getIdPessoa());
-            salvo = clienteRepository.save(salvo);
+        // Insert direto: CPF/email duplicados são barrados pelas constraints únicas de TB_Pessoa
+        Cliente salvo;
+        try {
+            salvo = clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, cliente);
         }
+        filtroPessoas.adicionar(salvo.getEmail());
         return salvo;
     }
     
     /**
      * Atualiza dados do cliente, com normalização e validações.
-     * - Garante unicidade de CPF e email
+     * - Unicidade de CPF e email garantida pelas constraints, sem SELECT prévio
      * - Exige gênero não vazio
      * - Reaplica criptografia de senha quando alterada
      */
@@ -157,8 +189,6 @@ public class ClienteService {
         String emailNormalizado = cliente.getEmail() != null ? cliente.getEmail().trim().toLowerCase() : null;
         String generoNormalizado = cliente.getGenero() != null ? cliente.getGenero().trim() : null;
 
-        verificarCpfDuplicado(cliente.getCpf(), id);
-        verificarEmailDuplicado(emailNormalizado, id);
         if (generoNormalizado == null || generoNormalizado.isEmpty()) {
             throw new BusinessException("Gênero é obrigatório");
         }
@@ -179,7 +209,16 @@ public class ClienteService {
             clienteExistente.setSenha(novaSenha);
         }
         
-        return clienteRepository.save(clienteExistente);
+        Cliente salvo;
+        try {
+            salvo = clienteRepository.saveAndFlush(clienteExistente);
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, clienteExistente);
+        }
+        filtroPessoas.adicionar(salvo.getEmail());
+        // Avaliações em cache embutem o ClienteDTO do autor
+        cacheRespostas.invalidarPrefixo("avaliacoes:livro:");
+        return salvo;
     }
     
     /**
@@ -188,7 +227,19 @@ public class ClienteService {
     public void deletar(Long id) {
         Cliente cliente = clienteRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + id));
+        // Compras e avaliações do cliente saem em cascata: desconta-as dos agregados dos livros
+        for (Avaliacao avaliacao : avaliacaoRepository.findByCliente(cliente)) {
+            Long idLivro = avaliacao.getLivro().getIdLivro();
+            livroRepository.aplicarDeltaAvaliacao(idLivro, avaliacao.getNota().negate(), -1);
+            cacheRespostas.invalidar(CacheRespostas.LIVROS_LISTA, CacheRespostas.livro(idLivro));
+        }
+        for (Compra compra : compraRepository.findByCliente(cliente)) {
+            if (!"CANCELADA".equals(compra.getStatus())) {
+                rankingMaisVendidos.registrar(compra.getLivro().getIdLivro(), compra.getTipo(), -1);
+            }
+        }
         clienteRepository.deleteById(id);
+        cacheRespostas.invalidarPrefixo("avaliacoes:livro:");
     }
     
     // Método de ativação/desativação removido junto com empAtivo
@@ -210,29 +261,4 @@ public class ClienteService {
             throw new BusinessException("Gênero é obrigatório");
         }
     }
-    
-    /**
-     * Verifica duplicidade de CPF opcionalmente ignorando um ID durante atualização.
-     */
-    private void verificarCpfDuplicado(String cpf, Long idExcluir) {
-        if (cpf == null || cpf.trim().isEmpty()) return;
-        Optional<Cliente> clienteExistente = clienteRepository.findByCpf(cpf);
-        if (clienteExistente.isPresent()) {
-            if (idExcluir == null || !clienteExistente.get().getIdPessoa().equals(idExcluir)) {
-                throw new BusinessException("CPF já cadastrado");
-            }
-        }
-    }
-    
-    /**
-     * Verifica duplicidade de email opcionalmente ignorando um ID durante atualização.
-     */
-    private void verificarEmailDuplicado(String email, Long idExcluir) {
-        Optional<Cliente> clienteExistente = clienteRepository.findByEmail(email);
-        if (clienteExistente.isPresent()) {
-            if (idExcluir == null || !clienteExistente.get().getIdPessoa().equals(idExcluir)) {
-                throw new BusinessException("Email já cadastrado");
-            }
-        }
-    }
-}
\ No newline at end of file
+}
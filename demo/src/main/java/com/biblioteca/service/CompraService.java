@@ -1,13 +1,23 @@
 package com.biblioteca.service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.biblioteca.dto.FiltroCompraDTO;
+import com.biblioteca.dto.ItemLoteCompraDTO;
+import com.biblioteca.dto.LoteCompraDTO;
 import com.biblioteca.exception.BusinessException;
 import com.biblioteca.exception.ResourceNotFoundException;
 import com.biblioteca.model.Cliente;
@@ -17,10 +27,14 @@ import com.biblioteca.repository.ClienteRepository;
 import com.biblioteca.repository.CompraRepository;
 import com.biblioteca.repository.LivroRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 @Transactional
 public class CompraService {
     
+    public static final int LIMITE_LOTE = LoteCompraDTO.LIMITE_ITENS;
+    
     @Autowired
     private CompraRepository compraRepository;
     
@@ -30,16 +44,27 @@ public class CompraService {
     @Autowired
     private LivroRepository livroRepository;
     
+    @Autowired
+    private RankingMaisVendidos rankingMaisVendidos;
+    
     /**
-     * Lista todas as compras/aluguéis registradas no sistema.
+     * Lista uma página de compras filtradas no banco, da mais recente para a mais antiga.
+     * Retorna até limite + 1 itens para que o chamador saiba se há próxima página.
      */
-    public List<Compra> listarTodas() {
-        return compraRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<Compra> listarFiltradas(FiltroCompraDTO filtro, Long after, int limite) {
+        Compra cursor = null;
+        if (after != null) {
+            cursor = compraRepository.findById(after)
+                .orElseThrow(() -> new BusinessException("Cursor inválido: compra " + after + " não encontrada"));
+        }
+        return compraRepository.buscarFiltradas(filtro, cursor, limite + 1);
     }
     
     /**
      * Busca uma compra pelo seu identificador.
      */
+    @Transactional(readOnly = true)
     public Optional<Compra> buscarPorId(Long id) {
         return compraRepository.findById(id);
     }
@@ -47,6 +72,7 @@ public class CompraService {
     /**
      * Lista compras/aluguéis de um cliente específico.
      */
+    @Transactional(readOnly = true)
     public List<Compra> buscarPorCliente(Long clienteId) {
         Cliente cliente = clienteRepository.findById(clienteId)
             .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado"));
@@ -56,6 +82,7 @@ public class CompraService {
     /**
      * Lista compras por status (ex.: PENDENTE, EM_ANDAMENTO, FINALIZADA, CANCELADA).
      */
+    @Transactional(readOnly = true)
     public List<Compra> buscarPorStatus(String status) {
         return compraRepository.findByStatus(status);
     }
@@ -66,6 +93,7 @@ public class CompraService {
      * - Infere tipo (COMPRA/ALUGUEL) com base no livro
      * - Normaliza status de acordo com o tipo
      */
+    @Timed(value = "biblioteca.compras.criar", description = "Criação de compra/aluguel avulsa", histogram = true)
     public Compra criar(Compra compra) {
         Cliente cliente = clienteRepository.findById(compra.getCliente().getIdPessoa())
             .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado"));
@@ -75,7 +103,20 @@ public class CompraService {
         Livro livro = livroRepository.findById(compra.getLivro().getIdLivro())
             .orElseThrow(() -> new ResourceNotFoundException("Livro não encontrado"));
         
+        prepararCompra(compra, livro);
         
+        compra.setCliente(cliente);
+        compra.setLivro(livro);
+        Compra salva = compraRepository.save(compra);
+        atualizarRanking(salva, false);
+        return salva;
+    }
+    
+    /**
+     * Aplica as regras de criação (datas, tipo e status) sem depender do @PrePersist,
+     * para que valham também no insert em lote via JDBC.
+     */
+    private void prepararCompra(Compra compra, Livro livro) {
         // Define data de início automaticamente
         if (compra.getDtInicio() == null) {
             compra.setDtInicio(LocalDate.now());
@@ -107,11 +148,74 @@ public class CompraService {
                 compra.setStatus("PENDENTE");
             }
         }
+        // Mesmos padrões de dtFim do @PrePersist: COMPRA encerra hoje, ALUGUEL vence em 30 dias
+        if (compra.getDtFim() == null) {
+            compra.setDtFim(compra.getTipo() == com.biblioteca.model.TipoCompra.ALUGUEL
+                ? compra.getDtInicio().plusDays(30)
+                : LocalDate.now());
+        }
+    }
+    
+    /**
+     * Cria todas as compras do carrinho do cliente em uma única transação.
+     * Os livros são validados com uma consulta multi-id e as compras gravadas com um batch JDBC.
+     * É tudo ou nada: qualquer item inválido rejeita o lote inteiro com uma BusinessException que
+     * lista cada item recusado pela posição ("Item 2: Livro não encontrado; Item 5: ...").
+     * @param idCliente cliente autenticado, dono de todas as compras
+     * @return compras criadas, na mesma ordem dos itens recebidos
+     */
+    @Timed(value = "biblioteca.compras.lote", description = "Checkout do carrinho (lote de compras)", histogram = true)
+    public List<Compra> criarLote(Long idCliente, List<ItemLoteCompraDTO> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new BusinessException("O lote deve conter ao menos um item");
+        }
+        if (itens.size() > LIMITE_LOTE) {
+            throw new BusinessException("O lote deve conter no máximo " + LIMITE_LOTE + " itens");
+        }
         
+        Cliente cliente = clienteRepository.findById(idCliente)
+            .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado"));
+        Set<Long> idsLivros = itens.stream()
+            .map(ItemLoteCompraDTO::getIdLivro)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Livro> livros = livroRepository.findAllById(idsLivros).stream()
+            .collect(Collectors.toMap(Livro::getIdLivro, Function.identity()));
         
-        compra.setCliente(cliente);
-        compra.setLivro(livro);
-        return compraRepository.save(compra);
+        List<String> erros = new ArrayList<>();
+        for (int i = 0; i < itens.size(); i++) {
+            Long idLivro = itens.get(i).getIdLivro();
+            if (idLivro == null || !livros.containsKey(idLivro)) {
+                erros.add("Item " + (i + 1) + ": Livro não encontrado");
+            }
+        }
+        if (!erros.isEmpty()) {
+            throw new BusinessException(String.join("; ", erros));
+        }
+        
+        List<Compra> compras = new ArrayList<>(itens.size());
+        Map<Long, int[]> deltasRanking = new HashMap<>();
+        for (ItemLoteCompraDTO item : itens) {
+            Livro livro = livros.get(item.getIdLivro());
+            Compra compra = new Compra();
+            compra.setCliente(cliente);
+            compra.setLivro(livro);
+            compra.setTipo(item.getTipo());
+            compra.setTipoPagamento(item.getTipoPagamento());
+            prepararCompra(compra, livro);
+            if (contaComoVenda(compra.getStatus())) {
+                int[] delta = deltasRanking.computeIfAbsent(livro.getIdLivro(), id -> new int[2]);
+                delta[compra.getTipo() == com.biblioteca.model.TipoCompra.ALUGUEL ? 1 : 0]++;
+            }
+            compras.add(compra);
+        }
+        
+        compraRepository.inserirEmLote(compras);
+        deltasRanking.forEach((idLivro, delta) -> {
+            rankingMaisVendidos.registrar(idLivro, com.biblioteca.model.TipoCompra.COMPRA, delta[0]);
+            rankingMaisVendidos.registrar(idLivro, com.biblioteca.model.TipoCompra.ALUGUEL, delta[1]);
+        });
+        return compras;
     }
     
     /**
@@ -146,7 +250,9 @@ public class CompraService {
         // Libera disponibilidade ao finalizar ou cancelar
 
         compra.setStatus(novoStatus);
-        return compraRepository.save(compra);
+        Compra salva = compraRepository.save(compra);
+        atualizarRanking(salva, contaComoVenda(atual));
+        return salva;
     }
     
     /**
@@ -165,10 +271,12 @@ public class CompraService {
             // Para COMPRA, dtFim é a data efetiva da compra
             compra.setDtFim(LocalDate.now());
         }
+        boolean contavaAntes = contaComoVenda(compra.getStatus());
         compra.setStatus("FINALIZADA");
         
-        
-        return compraRepository.save(compra);
+        Compra salva = compraRepository.save(compra);
+        atualizarRanking(salva, contavaAntes);
+        return salva;
     }
 
     /**
@@ -196,11 +304,14 @@ public class CompraService {
         LocalDate novaDataFinal = baseFinal.plusDays(dias);
         compra.setDtFim(novaDataFinal);
         // Mantém status como PENDENTE (ativa) ao renovar
+        boolean contavaAntes = contaComoVenda(compra.getStatus());
         compra.setStatus("PENDENTE");
 
         // Livro permanece indisponível durante aluguel
 
-        return compraRepository.save(compra);
+        Compra salva = compraRepository.save(compra);
+        atualizarRanking(salva, contavaAntes);
+        return salva;
     }
     
     /**
@@ -210,7 +321,27 @@ public class CompraService {
         Compra compra = compraRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Compra não encontrada"));
         
-        
+        if (contaComoVenda(compra.getStatus())) {
+            rankingMaisVendidos.registrar(compra.getLivro().getIdLivro(), compra.getTipo(), -1);
+        }
         compraRepository.deleteById(id);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Compras/aluguéis não cancelados contam para o ranking de mais vendidos.
+     */
+    private static boolean contaComoVenda(String status) {
+        return !"CANCELADA".equals(status);
+    }
+    
+    /**
+     * Ajusta os contadores do livro quando a compra passa a contar (ou deixa de contar) como venda.
+     */
+    private void atualizarRanking(Compra compra, boolean contavaAntes) {
+        boolean contaAgora = contaComoVenda(compra.getStatus());
+        if (contaAgora != contavaAntes) {
+            rankingMaisVendidos.registrar(compra.getLivro().getIdLivro(), compra.getTipo(), contaAgora ? 1 : -1);
+        }
+    }
+
+}
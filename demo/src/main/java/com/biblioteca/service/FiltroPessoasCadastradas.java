@@ -0,0 +1,229 @@
+package com.biblioteca.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.repository.PessoaRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filtro de Bloom em memória com os emails (normalizados) de todas as pessoas.
+ * Um "não contém" é definitivo e dispensa a consulta de duplicidade no banco; um "talvez" segue
+ * para a consulta informada pelo chamador, e o próprio filtro conta o resultado (falso positivo
+ * quando o banco não confirma). As constraints únicas de TB_Pessoa continuam sendo a palavra final.
+ *
+ * Populado ao subir a aplicação e a cada {@link #reconstruir()}; escritas chamam {@link #adicionar}.
+ * Remoções não saem do filtro (viram falsos positivos até a próxima reconstrução).
+ */
+@Component
+public class FiltroPessoasCadastradas {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroPessoasCadastradas.class);
+
+    private static final int TAMANHO_LOTE_CARGA = 5000;
+
+    private final PessoaRepository pessoaRepository;
+    private final int capacidadeMinima;
+    private final double fppAlvo;
+
+    // null até a primeira carga: sem filtro, toda consulta é "talvez"
+    private volatile Bits atual;
+    // Durante a reconstrução, escritas também vão para o filtro novo
+    private volatile Bits emConstrucao;
+
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong negativos = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+
+    public FiltroPessoasCadastradas(PessoaRepository pessoaRepository, MeterRegistry meterRegistry,
+                                    @Value("${bloom.pessoas.capacidade-minima:100000}") int capacidadeMinima,
+                                    @Value("${bloom.pessoas.fpp:0.01}") double fppAlvo) {
+        this.pessoaRepository = pessoaRepository;
+        this.capacidadeMinima = capacidadeMinima;
+        this.fppAlvo = fppAlvo;
+
+        FunctionCounter.builder("bloom.pessoas.consultas", consultas, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("bloom.pessoas.negativos", negativos, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("bloom.pessoas.falsos.positivos", falsosPositivos, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("bloom.pessoas.taxa.falsos.positivos", this, FiltroPessoasCadastradas::getTaxaFalsosPositivos)
+            .register(meterRegistry);
+        Gauge.builder("bloom.pessoas.fpp.estimada", this, FiltroPessoasCadastradas::getFppEstimada)
+            .register(meterRegistry);
+    }
+
+    public static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir();
+    }
+
+    /**
+     * Carrega um filtro novo em lotes por id, dimensionado para o dobro das pessoas atuais
+     * (ou a capacidade mínima) e a taxa de falsos positivos alvo, e o troca pelo atual.
+     * @return estatísticas da carga
+     */
+    public synchronized Map<String, Object> reconstruir() {
+        long inicio = System.currentTimeMillis();
+        long chavesEsperadas = Math.max(capacidadeMinima, pessoaRepository.count() * 2);
+        Bits novo = new Bits(chavesEsperadas, fppAlvo);
+        emConstrucao = novo;
+        long pessoas = 0;
+        try {
+            Long ultimoId = 0L;
+            while (true) {
+                List<Object[]> lote = pessoaRepository.findChavesUnicidade(ultimoId, PageRequest.of(0, TAMANHO_LOTE_CARGA));
+                if (lote.isEmpty()) break;
+                for (Object[] linha : lote) {
+                    adicionarEm(novo, (String) linha[1]);
+                }
+                pessoas += lote.size();
+                ultimoId = (Long) lote.get(lote.size() - 1)[0];
+            }
+            atual = novo;
+        } finally {
+            emConstrucao = null;
+        }
+        long duracao = System.currentTimeMillis() - inicio;
+        log.info("Filtro de Bloom de pessoas carregado: {} pessoas, {} bits, {} hashes em {} ms",
+            pessoas, novo.tamanho, novo.hashes, duracao);
+        return Map.of(
+            "pessoas", pessoas,
+            "bits", novo.tamanho,
+            "hashes", novo.hashes,
+            "fppEstimada", novo.fppEstimada(),
+            "duracaoMs", duracao);
+    }
+
+    /**
+     * Registra o email de uma pessoa gravada (ou atualizada).
+     */
+    public void adicionar(String email) {
+        Bits bits = atual;
+        if (bits != null) adicionarEm(bits, email);
+        Bits novo = emConstrucao;
+        if (novo != null) adicionarEm(novo, email);
+    }
+
+    /**
+     * Diz se o email está cadastrado: false direto quando o filtro garante que não está,
+     * senão o resultado de {@code consultaBanco}.
+     */
+    public boolean emailCadastrado(String email, BooleanSupplier consultaBanco) {
+        return confirmar(normalizarEmail(email), consultaBanco);
+    }
+
+    /**
+     * Falsos positivos observados / (falsos positivos + negativos definitivos).
+     */
+    public double getTaxaFalsosPositivos() {
+        long fp = falsosPositivos.get();
+        long total = fp + negativos.get();
+        return total == 0 ? 0.0 : (double) fp / total;
+    }
+
+    public double getFppEstimada() {
+        Bits bits = atual;
+        return bits == null ? 1.0 : bits.fppEstimada();
+    }
+
+    private boolean confirmar(String chave, BooleanSupplier consultaBanco) {
+        Bits bits = atual;
+        // Sem filtro carregado a consulta não entra nas métricas
+        if (bits == null) return consultaBanco.getAsBoolean();
+        consultas.incrementAndGet();
+        if (!bits.contem(chave)) {
+            negativos.incrementAndGet();
+            return false;
+        }
+        boolean existe = consultaBanco.getAsBoolean();
+        if (!existe) falsosPositivos.incrementAndGet();
+        return existe;
+    }
+
+    private static void adicionarEm(Bits bits, String email) {
+        if (email != null && !email.isBlank()) bits.adicionar(normalizarEmail(email));
+    }
+
+    /**
+     * Vetor de bits com k posições por chave derivadas de um hash de 64 bits (double hashing).
+     */
+    private static final class Bits {
+        private final AtomicLongArray palavras;
+        private final long tamanho;
+        private final int hashes;
+
+        Bits(long chavesEsperadas, double fpp) {
+            long m = (long) Math.ceil(-chavesEsperadas * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            this.tamanho = Math.max(64, m);
+            this.hashes = Math.max(1, (int) Math.round((double) tamanho / chavesEsperadas * Math.log(2)));
+            this.palavras = new AtomicLongArray((int) ((tamanho + 63) / 64));
+        }
+
+        void adicionar(String chave) {
+            long h = hash64(chave);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, tamanho);
+                int indice = (int) (bit >>> 6);
+                long mascara = 1L << bit;
+                long anterior;
+                do {
+                    anterior = palavras.get(indice);
+                } while ((anterior & mascara) == 0 && !palavras.compareAndSet(indice, anterior, anterior | mascara));
+            }
+        }
+
+        boolean contem(String chave) {
+            long h = hash64(chave);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, tamanho);
+                if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        double fppEstimada() {
+            long ligados = 0;
+            for (int i = 0; i < palavras.length(); i++) {
+                ligados += Long.bitCount(palavras.get(i));
+            }
+            return Math.pow((double) ligados / tamanho, hashes);
+        }
+
+        // FNV-1a 64 bits seguido do finalizador do MurmurHash3 para espalhar os bits
+        private static long hash64(String chave) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
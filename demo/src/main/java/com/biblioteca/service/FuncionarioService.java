@@ -4,12 +4,15 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.biblioteca.exception.BusinessException;
 import com.biblioteca.exception.ResourceNotFoundException;
+import com.biblioteca.exception.ViolacaoUnicidade;
+import com.biblioteca.dto.FuncionarioDTO;
 import com.biblioteca.model.Funcionario;
 import com.biblioteca.repository.FuncionarioRepository;
 
@@ -23,22 +26,27 @@ public class FuncionarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private FiltroPessoasCadastradas filtroPessoas;
+    
     /**
      * Lista todos os funcionários.
      */
-    public List<Funcionario> listarTodos() {
-        return funcionarioRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<FuncionarioDTO> listarTodos() {
+        return funcionarioRepository.listarResumos();
     }
     
     /**
      * Busca funcionário por ID.
      */
+    @Transactional(readOnly = true)
     public Optional<Funcionario> buscarPorId(Long id) {
         return funcionarioRepository.findById(id);
     }
     
     /**
-     * Cria um funcionário com validação e sincroniza idFuncionario com idPessoa.
+     * Cria um funcionário com validação e idFuncionario derivado do idPessoa.
      */
     public Funcionario criar(Funcionario funcionario) {
         validarFuncionario(funcionario);
@@ -66,11 +74,14 @@ public class FuncionarioService {
             funcionario.setCreatedByRole(role);
         }
         funcionario.setCreatedAt(java.time.LocalDateTime.now());
-        Funcionario salvo = funcionarioRepository.save(funcionario);
-        if (salvo.getIdFuncionario() == null) {
-            salvo.setIdFuncionario(salvo.getIdPessoa());
-            salvo = funcionarioRepository.save(salvo);
+        Funcionario salvo;
+        try {
+            // Unicidade de CPF/email garantida pelas constraints de TB_Pessoa
+            salvo = funcionarioRepository.saveAndFlush(funcionario);
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, funcionario);
         }
+        filtroPessoas.adicionar(salvo.getEmail());
         return salvo;
     }
     
@@ -96,7 +107,14 @@ public class FuncionarioService {
             funcionarioExistente.setSenha(novaSenha);
         }
         
-        return funcionarioRepository.save(funcionarioExistente);
+        Funcionario salvo;
+        try {
+            salvo = funcionarioRepository.saveAndFlush(funcionarioExistente);
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, funcionarioExistente);
+        }
+        filtroPessoas.adicionar(salvo.getEmail());
+        return salvo;
     }
     
     /**
@@ -0,0 +1,253 @@
+package com.biblioteca.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.config.AposCommit;
+import com.biblioteca.model.Livro;
+import com.biblioteca.repository.LivroRepository;
+import com.biblioteca.repository.SinopseLivroRepository;
+
+/**
+ * Índice invertido em memória sobre título, autor, gênero, resumo curto e sinopse dos livros.
+ * Os termos são normalizados (minúsculas, sem acentos) e cada campo tem um peso próprio;
+ * a relevância é a soma de peso x idf dos termos encontrados. O último termo da consulta
+ * também casa por prefixo, para buscas enquanto o usuário digita.
+ *
+ * A reconstrução monta um índice novo à parte, sem bloquear buscas nem atualizações; as atualizações
+ * que chegam enquanto ela roda são aplicadas no índice atual e anotadas, e reaplicadas no novo antes
+ * da troca.
+ */
+@Component
+public class IndiceBuscaLivros {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaLivros.class);
+
+    private static final int TAMANHO_LOTE_REINDEXACAO = 1000;
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+        "um", "uma", "uns", "umas", "para", "por", "com", "que", "se", "ao", "aos", "the", "of", "and"
+    );
+
+    private static final float PESO_TITULO = 5f;
+    private static final float PESO_AUTOR = 4f;
+    private static final float PESO_GENERO = 3f;
+    private static final float PESO_RESUMO = 2f;
+    private static final float PESO_SINOPSE = 1f;
+
+    @Autowired
+    private LivroRepository livroRepository;
+
+    @Autowired
+    private SinopseLivroRepository sinopseLivroRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Campos abaixo protegidos pelo lock
+    private Indice indice = new Indice();
+    // Durante a reconstrução: idLivro -> termos da última atualização (null = removido); fora dela, null
+    private Map<Long, Map<String, Float>> alteracoesDuranteReconstrucao;
+
+    /**
+     * Reconstrói o índice ao subir a aplicação, lendo os livros (e suas sinopses) em lotes por id
+     * e tokenizando cada lote em paralelo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            // Ligado antes da primeira leitura: o que for confirmado daqui em diante é reaplicado no fim
+            alteracoesDuranteReconstrucao = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Long, Map<String, Float>> documentos = new HashMap<>();
+        Long ultimoId = 0L;
+        while (true) {
+            List<Livro> lote = livroRepository.findByIdLivroGreaterThanOrderByIdLivroAsc(
+                ultimoId, PageRequest.of(0, TAMANHO_LOTE_REINDEXACAO));
+            if (lote.isEmpty()) break;
+            Map<Long, String> sinopses = new HashMap<>();
+            sinopseLivroRepository.findAllById(lote.stream().map(Livro::getIdLivro).toList())
+                .forEach(s -> sinopses.put(s.getIdLivro(), s.getTexto()));
+            lote.forEach(l -> l.setSinopse(sinopses.get(l.getIdLivro())));
+            lote.parallelStream()
+                .map(l -> Map.entry(l.getIdLivro(), tokenizarLivro(l)))
+                .toList()
+                .forEach(e -> documentos.put(e.getKey(), e.getValue()));
+            ultimoId = lote.get(lote.size() - 1).getIdLivro();
+        }
+
+        Indice novo = new Indice();
+        documentos.forEach(novo::adicionar);
+
+        int reaplicadas;
+        lock.writeLock().lock();
+        try {
+            reaplicadas = alteracoesDuranteReconstrucao.size();
+            alteracoesDuranteReconstrucao.forEach(novo::substituir);
+            alteracoesDuranteReconstrucao = null;
+            indice = novo;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de busca de livros reconstruído: {} livros, {} termos, {} atualizações reaplicadas em {} ms",
+            novo.termosPorLivro.size(), novo.postings.size(), reaplicadas, System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Indexa (ou reindexa) o livro, com a sinopse que estiver preenchida nele. Dentro de uma transação, só aplica após o commit.
+     */
+    public void indexar(Livro livro) {
+        Long id = livro.getIdLivro();
+        Map<String, Float> termos = tokenizarLivro(livro);
+        AposCommit.executar(() -> aplicar(id, termos));
+    }
+
+    /**
+     * Remove o livro do índice. Dentro de uma transação, só aplica após o commit.
+     */
+    public void removerLivro(Long idLivro) {
+        AposCommit.executar(() -> aplicar(idLivro, null));
+    }
+
+    /**
+     * Aplica no índice atual e, se houver uma reconstrução em andamento, anota para reaplicar no novo.
+     * @param termos null remove o livro
+     */
+    private void aplicar(Long id, Map<String, Float> termos) {
+        lock.writeLock().lock();
+        try {
+            indice.substituir(id, termos);
+            if (alteracoesDuranteReconstrucao != null) {
+                alteracoesDuranteReconstrucao.put(id, termos);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os ids dos livros que casam com a consulta, ordenados por relevância decrescente.
+     */
+    public List<Long> buscar(String consulta) {
+        List<String> termos = tokenizar(consulta);
+        if (termos.isEmpty()) return List.of();
+
+        Map<Long, Float> pontuacao = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            TreeMap<String, Map<Long, Float>> postings = indice.postings;
+            int totalLivros = Math.max(1, indice.termosPorLivro.size());
+            for (int i = 0; i < termos.size(); i++) {
+                String termo = termos.get(i);
+                boolean ultimo = i == termos.size() - 1;
+                Map<String, Map<Long, Float>> candidatos = ultimo
+                    ? prefixo(postings, termo)
+                    : (postings.containsKey(termo) ? Map.of(termo, postings.get(termo)) : Map.of());
+                for (Map.Entry<String, Map<Long, Float>> entrada : candidatos.entrySet()) {
+                    Map<Long, Float> livros = entrada.getValue();
+                    float idf = (float) Math.log(1.0 + (double) totalLivros / livros.size());
+                    // Casamento exato vale mais que casamento apenas por prefixo
+                    float fator = entrada.getKey().equals(termo) ? 1f : 0.5f;
+                    livros.forEach((id, peso) -> pontuacao.merge(id, peso * idf * fator, Float::sum));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Float>> ordenado = new ArrayList<>(pontuacao.entrySet());
+        ordenado.sort(Map.Entry.<Long, Float>comparingByValue().reversed()
+            .thenComparing(Map.Entry.comparingByKey()));
+        return ordenado.stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Normaliza texto para indexação: minúsculas, sem acentos (ç → c, ã → a), sem stopwords.
+     */
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) return List.of();
+        String semAcento = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        List<String> termos = new ArrayList<>();
+        for (String t : SEPARADORES.split(semAcento.toLowerCase())) {
+            if (!t.isEmpty() && !STOPWORDS.contains(t)) {
+                termos.add(t);
+            }
+        }
+        return termos;
+    }
+
+    private static Map<String, Map<Long, Float>> prefixo(TreeMap<String, Map<Long, Float>> postings, String termo) {
+        return postings.subMap(termo, true, termo + Character.MAX_VALUE, false);
+    }
+
+    private static Map<String, Float> tokenizarLivro(Livro livro) {
+        Map<String, Float> termos = new HashMap<>();
+        acumular(termos, livro.getTitulo(), PESO_TITULO);
+        acumular(termos, livro.getAutor(), PESO_AUTOR);
+        acumular(termos, livro.getGenero(), PESO_GENERO);
+        acumular(termos, livro.getResumoCurto(), PESO_RESUMO);
+        acumular(termos, livro.getSinopse(), PESO_SINOPSE);
+        return termos;
+    }
+
+    private static void acumular(Map<String, Float> termos, String texto, float peso) {
+        for (String termo : tokenizar(texto)) {
+            termos.merge(termo, peso, Float::sum);
+        }
+    }
+
+    /**
+     * Estruturas do índice. O índice publicado só é alterado com o write lock; o da reconstrução é
+     * montado por uma única thread antes de ser publicado.
+     */
+    private static final class Indice {
+        // termo -> (idLivro -> peso acumulado do termo no livro)
+        private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        // idLivro -> termos indexados, para remoção incremental
+        private final Map<Long, Set<String>> termosPorLivro = new HashMap<>();
+
+        /**
+         * @param termos null apenas remove
+         */
+        void substituir(Long id, Map<String, Float> termos) {
+            remover(id);
+            if (termos != null) adicionar(id, termos);
+        }
+
+        void adicionar(Long id, Map<String, Float> termos) {
+            termos.forEach((termo, peso) -> postings.computeIfAbsent(termo, k -> new HashMap<>()).put(id, peso));
+            termosPorLivro.put(id, termos.keySet());
+        }
+
+        void remover(Long id) {
+            Set<String> termos = termosPorLivro.remove(id);
+            if (termos == null) return;
+            for (String termo : termos) {
+                Map<Long, Float> livros = postings.get(termo);
+                if (livros != null) {
+                    livros.remove(id);
+                    if (livros.isEmpty()) postings.remove(termo);
+                }
+            }
+        }
+    }
+}
@@ -2,16 +2,28 @@ package com.biblioteca.service;
 
 import java.util.List;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.biblioteca.cache.CacheRespostas;
+import com.biblioteca.dto.LivroResumoDTO;
+import com.biblioteca.enums.OrdenacaoLivro;
 import com.biblioteca.exception.BusinessException;
 import com.biblioteca.exception.ResourceNotFoundException;
 import com.biblioteca.model.Livro;
+import com.biblioteca.model.SinopseLivro;
 import com.biblioteca.repository.LivroRepository;
+import com.biblioteca.repository.SinopseLivroRepository;
 
 @Service
 @Transactional
@@ -26,39 +38,99 @@ public class LivroService {
     @Autowired
     private com.biblioteca.repository.AvaliacaoRepository avaliacaoRepository;
     
+    @Autowired
+    private SinopseLivroRepository sinopseLivroRepository;
+    
+    @Autowired
+    private IndiceBuscaLivros indiceBusca;
+    
+    @Autowired
+    private MiniaturasCapas miniaturasCapas;
+    
+    @Autowired
+    private CacheRespostas cacheRespostas;
+    
     /**
-     * Lista todos os livros sem filtros.
+     * Lista uma página de livros por keyset.
+     * Retorna até {@code limite + 1} livros após o cursor, para que o chamador saiba se há próxima página.
+     * @param after idLivro do último item da página anterior (nulo para a primeira página)
      */
-    public List<Livro> listarTodos() {
-        return livroRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<LivroResumoDTO> listarPagina(Long after, int limite, OrdenacaoLivro ordenacao) {
+        Livro cursor = null;
+        if (after != null) {
+            cursor = livroRepository.findById(after)
+                .orElseThrow(() -> new BusinessException("Cursor inválido: livro " + after + " não encontrado"));
+        }
+        return miniaturasCapas.comSrcset(livroRepository.buscarPagina(ordenacao, cursor, limite + 1));
     }
     
     /**
      * Busca livro por ID.
      */
+    @Transactional(readOnly = true)
     public Optional<Livro> buscarPorId(Long id) {
         return livroRepository.findById(id);
     }
     
+    /**
+     * Busca livro por ID com a sinopse, lida de TB_Livro_Sinopse e descomprimida (endpoint de detalhe).
+     */
+    @Transactional(readOnly = true)
+    public Optional<Livro> buscarDetalhe(Long id) {
+        return livroRepository.findById(id).map(this::carregarSinopse);
+    }
+    
+    /**
+     * Busca textual em título, autor, gênero, resumo e sinopse, ordenada por relevância.
+     * Consulta o índice invertido em memória e carrega do banco apenas os livros da página.
+     */
+    @Transactional(readOnly = true)
+    public Page<Livro> buscarTexto(String consulta, int pagina, int tamanho) {
+        List<Long> ids = indiceBusca.buscar(consulta);
+        // Em long: páginas muito altas não estouram o int; além do fim, página vazia
+        int de = (int) Math.min((long) pagina * tamanho, ids.size());
+        int ate = Math.min(de + tamanho, ids.size());
+        List<Livro> livros = buscarPorIdsNaOrdem(ids.subList(de, ate));
+        return new PageImpl<>(livros, PageRequest.of(pagina, tamanho), ids.size());
+    }
+    
+    /**
+     * Carrega os livros informados em uma única consulta, preservando a ordem dos ids.
+     * Ids inexistentes são ignorados.
+     */
+    @Transactional(readOnly = true)
+    public List<Livro> buscarPorIdsNaOrdem(List<Long> ids) {
+        Map<Long, Livro> porId = livroRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Livro::getIdLivro, Function.identity()));
+        return ids.stream()
+            .map(porId::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
     /**
      * Busca livros pelo título (contém, case-insensitive).
      */
-    public List<Livro> buscarPorTitulo(String titulo) {
-        return livroRepository.findByTituloContainingIgnoreCase(titulo);
+    @Transactional(readOnly = true)
+    public List<LivroResumoDTO> buscarPorTitulo(String titulo) {
+        return miniaturasCapas.comSrcset(livroRepository.buscarResumosPorTitulo(titulo));
     }
     
     /**
      * Busca livros pelo autor (contém, case-insensitive).
      */
-    public List<Livro> buscarPorAutor(String autor) {
-        return livroRepository.findByAutorContainingIgnoreCase(autor);
+    @Transactional(readOnly = true)
+    public List<LivroResumoDTO> buscarPorAutor(String autor) {
+        return miniaturasCapas.comSrcset(livroRepository.buscarResumosPorAutor(autor));
     }
     
     /**
      * Busca livros por gênero exato.
      */
-    public List<Livro> buscarPorGenero(String genero) {
-        return livroRepository.findByGenero(genero);
+    @Transactional(readOnly = true)
+    public List<LivroResumoDTO> buscarPorGenero(String genero) {
+        return miniaturasCapas.comSrcset(livroRepository.buscarResumosPorGenero(genero));
     }
     
     
@@ -84,7 +156,12 @@ public class LivroService {
             livro.setCreatedByRole(role);
         }
         livro.setCreatedAt(LocalDateTime.now());
-        return livroRepository.save(livro);
+        Livro salvo = livroRepository.save(livro);
+        salvarSinopse(salvo, livro.getSinopse());
+        indiceBusca.indexar(salvo);
+        miniaturasCapas.gerar(salvo.getCapaUrl());
+        cacheRespostas.invalidar(CacheRespostas.LIVROS_LISTA);
+        return salvo;
     }
     
     /**
@@ -120,15 +197,37 @@ public class LivroService {
         // Campos opcionais: atualizar apenas se não vazios
         if (livro.getCapaUrl() != null && !livro.getCapaUrl().trim().isEmpty()) {
             livroExistente.setCapaUrl(livro.getCapaUrl());
+            miniaturasCapas.gerar(livro.getCapaUrl());
         }
         if (livro.getResumoCurto() != null && !livro.getResumoCurto().trim().isEmpty()) {
             livroExistente.setResumoCurto(livro.getResumoCurto());
         }
+        Livro salvo = livroRepository.save(livroExistente);
         if (livro.getSinopse() != null && !livro.getSinopse().trim().isEmpty()) {
-            livroExistente.setSinopse(livro.getSinopse());
+            salvarSinopse(salvo, livro.getSinopse());
+        } else {
+            // Mantém a sinopse atual na resposta e na reindexação
+            carregarSinopse(salvo);
         }
-        
-        return livroRepository.save(livroExistente);
+        indiceBusca.indexar(salvo);
+        // Avaliações do livro também carregam o livro resumido embutido
+        cacheRespostas.invalidar(CacheRespostas.LIVROS_LISTA, CacheRespostas.livro(id),
+            CacheRespostas.avaliacoesDoLivro(id));
+        return salvo;
+    }
+    
+    /**
+     * Troca a capa do livro pela URL informada (ex.: uma capa enviada para /api/capas) e pede as miniaturas.
+     */
+    public Livro atualizarCapa(Long id, String capaUrl) {
+        Livro livro = livroRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Livro não encontrado com ID: " + id));
+        livro.setCapaUrl(capaUrl);
+        miniaturasCapas.gerar(capaUrl);
+        Livro salvo = carregarSinopse(livroRepository.save(livro));
+        cacheRespostas.invalidar(CacheRespostas.LIVROS_LISTA, CacheRespostas.livro(id),
+            CacheRespostas.avaliacoesDoLivro(id));
+        return salvo;
     }
     
     /**
@@ -153,7 +252,25 @@ public class LivroService {
         }
 
         // Sem dependências: excluir em segurança
+        sinopseLivroRepository.deleteById(id);
         livroRepository.delete(livro);
+        indiceBusca.removerLivro(id);
+        cacheRespostas.invalidar(CacheRespostas.LIVROS_LISTA, CacheRespostas.livro(id),
+            CacheRespostas.avaliacoesDoLivro(id));
+    }
+    
+    private Livro carregarSinopse(Livro livro) {
+        livro.setSinopse(sinopseLivroRepository.findById(livro.getIdLivro())
+            .map(SinopseLivro::getTexto)
+            .orElse(null));
+        return livro;
+    }
+    
+    private void salvarSinopse(Livro livro, String sinopse) {
+        livro.setSinopse(sinopse);
+        if (sinopse != null && !sinopse.trim().isEmpty()) {
+            sinopseLivroRepository.save(new SinopseLivro(livro.getIdLivro(), sinopse));
+        }
     }
     
     /**
@@ -0,0 +1,649 @@
+package com.biblioteca.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.cache.CacheRespostas;
+import com.biblioteca.dto.LivroResumoDTO;
+import com.biblioteca.repository.LivroRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Miniaturas das capas em larguras fixas ({@link #LARGURAS}), geradas em segundo plano e guardadas em
+ * disco ({@code <diretorio>/ab/<chave>-<largura>.jpg}), para o front-end pedir a menor que serve via
+ * {@code srcset}. A chave é o hash da capa enviada (/api/capas) ou o SHA-256 da URL externa.
+ *
+ * Só são geradas as larguras menores que a da capa original, que é gravada por último em
+ * {@code <chave>.largura} e marca a capa como pronta. {@link #srcset(String)} sai dela: null enquanto a
+ * capa não foi processada (ou falhou), e depois as miniaturas existentes mais a própria capa como maior
+ * opção. Ao terminar uma leva, as respostas do catálogo em cache são invalidadas para incluir o srcset.
+ *
+ * Miniatura pedida e ausente em disco faz /api/capas/miniaturas redirecionar para a capa original e pedir
+ * a geração; o arquivo {@code <chave>.origem} guarda a capaUrl de cada chave para isso. Capas que nunca
+ * vão gerar miniaturas (formato não suportado, imagem corrompida, acima do limite de bytes ou pixels,
+ * endereço recusado, HTTP 4xx) ficam marcadas com {@code <chave>.falha} e não são tentadas de novo
+ * (apagar o arquivo libera uma nova tentativa). Falhas passageiras (timeout, conexão perdida, HTTP 5xx,
+ * 408 ou 429, disco) não marcam nada: a capa volta a ser pedida no próximo acesso à miniatura.
+ *
+ * Capas externas são baixadas com prazo total ({@code capas.miniaturas.download-timeout-ms}, do primeiro
+ * byte ao último, redirecionamentos incluídos) e só de endereços públicos: o host de cada URL, inclusive
+ * após redirecionamento, é resolvido e recusado se apontar para loopback, link-local (metadados de
+ * nuvem, 169.254.169.254), rede privada ou similares.
+ *
+ * Saída em JPEG: o ImageIO do JDK não grava WebP (nem lê), e capas WebP ficam sem miniaturas.
+ */
+@Component
+public class MiniaturasCapas {
+
+    private static final Logger log = LoggerFactory.getLogger(MiniaturasCapas.class);
+
+    public static final int[] LARGURAS = { 160, 320, 640 };
+    public static final String PREFIXO_URL = ArmazenamentoCapas.PREFIXO_URL + "miniaturas/";
+
+    private static final Pattern CAPA_LOCAL = Pattern.compile(
+        Pattern.quote(ArmazenamentoCapas.PREFIXO_URL) + "([0-9a-f]{64})\\.(jpg|png|webp|gif)");
+    private static final Pattern NOME_MINIATURA = Pattern.compile("([0-9a-f]{64})-(\\d+)\\.jpg");
+    private static final long TAMANHO_MAXIMO_ORIGINAL = 10L * 1024 * 1024;
+    private static final long PIXELS_MAXIMOS = 40_000_000L;
+    // Teto do que é de fato alocado (4 bytes por pixel): a imagem é decodificada já reduzida
+    private static final long PIXELS_DECODIFICADOS_MAXIMOS = 4_000_000L;
+    private static final float QUALIDADE_JPEG = 0.82f;
+    private static final int MAXIMO_REDIRECIONAMENTOS = 5;
+    // Com a fila andando, o cache do catálogo é invalidado no máximo a cada intervalo (e ao esvaziar)
+    private static final long INTERVALO_PUBLICACAO_NS = TimeUnit.SECONDS.toNanos(5);
+    // Capa ainda sem .largura nem .falha: o disco só é consultado de novo depois deste prazo
+    private static final long PRAZO_AUSENTE_NS = TimeUnit.SECONDS.toNanos(30);
+    // Em larguras: capa marcada com .falha, que nunca terá srcset
+    private static final int SEM_MINIATURAS = -1;
+
+    private final ArmazenamentoCapas armazenamentoCapas;
+    private final LivroRepository livroRepository;
+    private final CacheRespostas cacheRespostas;
+    private final Path diretorio;
+    private final ThreadPoolExecutor executor;
+    private final HttpClient http;
+    private final Duration timeoutDownload;
+    // Chaves na fila ou em geração, para não enfileirar a mesma capa duas vezes
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+    // Largura da capa original por chave, lida de <chave>.largura na primeira consulta (ou SEM_MINIATURAS)
+    private final Map<String, Integer> larguras = new ConcurrentHashMap<>();
+    // Capas pendentes consultadas recentemente: chave -> instante (nanoTime) até o qual seguem sem srcset
+    private final Map<String, Long> ausentes = new ConcurrentHashMap<>();
+    private final AtomicLong ultimaPublicacao = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param threads geradores simultâneos (redimensionar é CPU; poucos bastam)
+     * @param fila capas aguardando além das em geração; com a fila cheia o pedido é descartado e
+     *             volta a ser feito no próximo acesso à miniatura
+     */
+    public MiniaturasCapas(ArmazenamentoCapas armazenamentoCapas, LivroRepository livroRepository,
+                           CacheRespostas cacheRespostas,
+                           @Value("${capas.miniaturas.diretorio:dados/miniaturas}") String diretorio,
+                           @Value("${capas.miniaturas.threads:2}") int threads,
+                           @Value("${capas.miniaturas.fila:500}") int fila,
+                           @Value("${capas.miniaturas.download-timeout-ms:10000}") long timeoutDownloadMs) throws IOException {
+        this.armazenamentoCapas = armazenamentoCapas;
+        this.livroRepository = livroRepository;
+        this.cacheRespostas = cacheRespostas;
+        this.diretorio = Files.createDirectories(Path.of(diretorio).toAbsolutePath().normalize());
+        this.timeoutDownload = Duration.ofMillis(timeoutDownloadMs);
+        this.http = HttpClient.newBuilder()
+            .connectTimeout(timeoutDownload)
+            // Redirecionamentos seguidos à mão, para validar o destino de cada um
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+        int tamanho = Math.max(1, threads);
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fila)),
+                r -> {
+                    Thread t = new Thread(r, "miniaturas-capa-" + sequencia.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Valor para o atributo srcset (ex.: "/api/capas/miniaturas/ab..-160.jpg 160w, ..., /api/capas/ab...png
+     * 500w"): as miniaturas menores que a capa e a própria capa com a sua largura. Null quando a capa não
+     * tem miniaturas: ainda não processada, falhou, menor que a menor miniatura, ou capaUrl que não é
+     * uma capa enviada nem uma URL http(s).
+     */
+    public String srcset(String capaUrl) {
+        String chave = chave(capaUrl);
+        if (chave == null) return null;
+        Integer original = larguraOriginal(chave);
+        if (original == null || original <= LARGURAS[0]) return null;
+        // srcset separa candidatos por vírgula e espaço
+        String url = capaUrl.trim().replace(" ", "%20").replace(",", "%2C");
+        return Arrays.stream(LARGURAS)
+            .filter(l -> l < original)
+            .mapToObj(l -> PREFIXO_URL + chave + "-" + l + ".jpg " + l + "w")
+            .collect(Collectors.joining(", ", "", ", " + url + " " + original + "w"));
+    }
+
+    /**
+     * Preenche o srcset dos livros de uma listagem montada na consulta.
+     */
+    public List<LivroResumoDTO> comSrcset(List<LivroResumoDTO> livros) {
+        return livros.stream().map(l -> l.comCapaSrcset(srcset(l.getCapaUrl()))).toList();
+    }
+
+    /**
+     * Chave das miniaturas da capa: o hash da capa enviada ou o SHA-256 da URL externa.
+     */
+    static String chave(String capaUrl) {
+        if (capaUrl == null || capaUrl.isBlank()) return null;
+        String url = capaUrl.trim();
+        Matcher local = CAPA_LOCAL.matcher(url);
+        if (local.matches()) return local.group(1);
+        if (!url.regionMatches(true, 0, "http://", 0, 7) && !url.regionMatches(true, 0, "https://", 0, 8)) {
+            return null;
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(url.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Completa em segundo plano as miniaturas das capas já cadastradas. O que não couber na fila é
+     * gerado no primeiro acesso.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void completarExistentes() {
+        int enfileiradas = 0;
+        for (String capaUrl : livroRepository.listarCapasUrl()) {
+            if (gerar(capaUrl)) enfileiradas++;
+        }
+        if (enfileiradas > 0) {
+            log.info("{} capas enfileiradas para geração de miniaturas", enfileiradas);
+        }
+    }
+
+    /**
+     * Pede as miniaturas da capa, se ainda não existem. Não bloqueia: a geração roda no pool próprio.
+     * @return true se a capa entrou na fila
+     */
+    public boolean gerar(String capaUrl) {
+        String chave = chave(capaUrl);
+        if (chave == null || prontas(chave) || falhou(chave)) return false;
+        if (!pendentes.add(chave)) return false;
+        try {
+            Path origem = arquivo(chave, "origem");
+            if (!Files.exists(origem)) {
+                gravarAtomico(origem, capaUrl.trim().getBytes(StandardCharsets.UTF_8));
+            }
+            executor.execute(() -> {
+                try {
+                    gerarAgora(chave, capaUrl.trim());
+                } finally {
+                    pendentes.remove(chave);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendentes.remove(chave);
+            log.debug("Fila de miniaturas cheia; capa {} fica para o próximo acesso", chave);
+            return false;
+        } catch (IOException e) {
+            pendentes.remove(chave);
+            log.warn("Falha ao registrar a origem da capa {}: {}", chave, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Arquivo da miniatura pelo nome publicado, ou null se o nome for inválido ou ainda não gerado.
+     */
+    public Path localizar(String nome) {
+        Matcher m = NOME_MINIATURA.matcher(nome);
+        if (!m.matches() || Arrays.stream(LARGURAS).noneMatch(l -> String.valueOf(l).equals(m.group(2)))) {
+            return null;
+        }
+        Path arquivo = miniatura(m.group(1), Integer.parseInt(m.group(2)));
+        return Files.isRegularFile(arquivo) ? arquivo : null;
+    }
+
+    /**
+     * capaUrl original de uma miniatura ainda não gerada, pedindo a geração; null se desconhecida.
+     */
+    public String original(String nome) {
+        Matcher m = NOME_MINIATURA.matcher(nome);
+        if (!m.matches()) return null;
+        try {
+            Path origem = arquivo(m.group(1), "origem");
+            if (!Files.exists(origem)) return null;
+            String capaUrl = Files.readString(origem, StandardCharsets.UTF_8);
+            gerar(capaUrl);
+            return capaUrl;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void gerarAgora(String chave, String capaUrl) {
+        long inicio = System.nanoTime();
+        try {
+            Original original = ler(capaUrl);
+            for (int largura : LARGURAS) {
+                Path destino = miniatura(chave, largura);
+                if (largura < original.largura() && !Files.exists(destino)) {
+                    gravarAtomico(destino, jpeg(redimensionar(original.imagem(), largura)));
+                }
+            }
+            gravarAtomico(arquivo(chave, "largura"), String.valueOf(original.largura()).getBytes(StandardCharsets.UTF_8));
+            larguras.put(chave, original.largura());
+            ausentes.remove(chave);
+            publicar();
+            log.debug("Miniaturas da capa {} geradas em {} ms", chave, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (CapaInvalida | IllegalArgumentException e) {
+            marcarFalha(chave, motivo(e));
+        } catch (IOException e) {
+            log.info("Miniaturas da capa {} adiadas para o próximo acesso: {}", chave, motivo(e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Original ler(String capaUrl) throws IOException, InterruptedException {
+        Matcher local = CAPA_LOCAL.matcher(capaUrl);
+        if (local.matches()) {
+            Path arquivo = armazenamentoCapas.localizar(local.group(1) + "." + local.group(2));
+            if (arquivo == null) throw new IOException("capa não encontrada no armazenamento");
+            try (InputStream entrada = Files.newInputStream(arquivo)) {
+                return decodificar(entrada);
+            }
+        }
+        return decodificar(new ByteArrayInputStream(baixar(URI.create(capaUrl))));
+    }
+
+    /**
+     * Baixa a capa externa dentro do prazo total, seguindo até {@link #MAXIMO_REDIRECIONAMENTOS}
+     * redirecionamentos e validando o destino de cada um.
+     */
+    private byte[] baixar(URI uri) throws IOException, InterruptedException {
+        long prazo = System.nanoTime() + timeoutDownload.toNanos();
+        for (int redirecionamentos = 0; ; redirecionamentos++) {
+            verificarDestino(uri);
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(restante(prazo)).GET().build();
+            CompletableFuture<HttpResponse<byte[]>> envio = http.sendAsync(request,
+                info -> info.statusCode() / 100 == 2
+                    ? new CorpoLimitado()
+                    : HttpResponse.BodySubscribers.replacing(null));
+            HttpResponse<byte[]> resposta = aguardar(envio, prazo);
+            int status = resposta.statusCode();
+            if (status / 100 == 2) return resposta.body();
+            String destino = resposta.headers().firstValue("Location").orElse(null);
+            if (destino == null || (status != 301 && status != 302 && status != 303 && status != 307 && status != 308)) {
+                // 4xx não muda sozinho; 5xx, 408 e 429 (e 3xx sem Location) valem nova tentativa
+                boolean definitivo = status / 100 == 4 && status != 408 && status != 429;
+                throw definitivo ? new CapaInvalida("HTTP " + status) : new IOException("HTTP " + status);
+            }
+            if (redirecionamentos >= MAXIMO_REDIRECIONAMENTOS) throw new CapaInvalida("redirecionamentos demais");
+            uri = uri.resolve(destino);
+        }
+    }
+
+    private Duration restante(long prazo) throws HttpTimeoutException {
+        long nanos = prazo - System.nanoTime();
+        if (nanos <= 0) throw new HttpTimeoutException("download acima de " + timeoutDownload.toMillis() + " ms");
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Espera a resposta (cabeçalhos e corpo) até o prazo; o timeout do HttpRequest só cobre a chegada
+     * dos cabeçalhos, e um corpo servido aos poucos seguraria a thread indefinidamente.
+     */
+    private <T> T aguardar(CompletableFuture<T> envio, long prazo) throws IOException, InterruptedException {
+        try {
+            return envio.get(restante(prazo).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            envio.cancel(true);
+            throw new HttpTimeoutException("download acima de " + timeoutDownload.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            envio.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Recusa esquemas além de http/https e hosts que resolvem para endereços internos. O HttpClient
+     * resolve o nome de novo ao conectar; um DNS que mude a resposta entre as duas consultas não é
+     * coberto aqui (isso exige bloquear a saída na rede).
+     */
+    private static void verificarDestino(URI uri) throws IOException {
+        String esquema = uri.getScheme();
+        if (!"http".equalsIgnoreCase(esquema) && !"https".equalsIgnoreCase(esquema)) {
+            throw new CapaInvalida("esquema não permitido: " + esquema);
+        }
+        if (uri.getHost() == null) throw new CapaInvalida("URL sem host");
+        for (InetAddress endereco : InetAddress.getAllByName(uri.getHost())) {
+            if (interno(endereco)) {
+                throw new CapaInvalida("endereço não público recusado: " + uri.getHost() + " (" + endereco.getHostAddress() + ")");
+            }
+        }
+    }
+
+    private static boolean interno(InetAddress endereco) {
+        if (endereco.isAnyLocalAddress() || endereco.isLoopbackAddress() || endereco.isLinkLocalAddress()
+                || endereco.isSiteLocalAddress() || endereco.isMulticastAddress()) {
+            return true;
+        }
+        byte[] b = endereco.getAddress();
+        if (endereco instanceof Inet4Address) {
+            // 0.0.0.0/8, 100.64.0.0/10 (CGNAT) e 198.18.0.0/15 (testes de rede)
+            return b[0] == 0 || (b[0] == 100 && (b[1] & 0xc0) == 64) || (b[0] == (byte) 198 && (b[1] & 0xfe) == 18);
+        }
+        // fc00::/7 (endereços locais únicos do IPv6)
+        return endereco instanceof Inet6Address && (b[0] & 0xfe) == 0xfc;
+    }
+
+    /**
+     * Capa decodificada (possivelmente já reduzida) e a largura real do original.
+     */
+    private record Original(BufferedImage imagem, int largura) {
+    }
+
+    /**
+     * Falha que não se resolve tentando de novo; marca a capa com {@code .falha}.
+     */
+    private static final class CapaInvalida extends IOException {
+        CapaInvalida(String motivo) {
+            super(motivo);
+        }
+    }
+
+    /**
+     * Acumula o corpo e aborta o download ao passar de {@link #TAMANHO_MAXIMO_ORIGINAL}.
+     */
+    private static final class CorpoLimitado implements HttpResponse.BodySubscriber<byte[]> {
+        private final CompletableFuture<byte[]> resultado = new CompletableFuture<>();
+        private final ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+        private Flow.Subscription assinatura;
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return resultado;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription assinatura) {
+            this.assinatura = assinatura;
+            assinatura.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> partes) {
+            if (resultado.isDone()) return;
+            for (ByteBuffer parte : partes) {
+                if (corpo.size() + parte.remaining() > TAMANHO_MAXIMO_ORIGINAL) {
+                    assinatura.cancel();
+                    resultado.completeExceptionally(new CapaInvalida("imagem acima de 10 MB"));
+                    return;
+                }
+                byte[] bytes = new byte[parte.remaining()];
+                parte.get(bytes);
+                corpo.write(bytes, 0, bytes.length);
+            }
+        }
+
+        @Override
+        public void onError(Throwable erro) {
+            resultado.completeExceptionally(erro);
+        }
+
+        @Override
+        public void onComplete() {
+            resultado.complete(corpo.toByteArray());
+        }
+    }
+
+    /**
+     * Decodifica conferindo antes as dimensões, para uma imagem pequena em bytes e enorme em pixels
+     * não esgotar o heap. Os bytes já estão todos em mãos, então erro de leitura aqui é da imagem.
+     *
+     * A leitura já sai reduzida ({@link ImageReadParam#setSourceSubsampling}): o leitor descarta linhas
+     * e colunas enquanto decodifica, guardando no máximo o dobro da maior miniatura na largura (folga
+     * para a redução bilinear suavizar) e {@link #PIXELS_DECODIFICADOS_MAXIMOS} no total.
+     */
+    private static Original decodificar(InputStream entrada) throws IOException {
+        try (ImageInputStream imagem = ImageIO.createImageInputStream(entrada)) {
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(imagem);
+            if (!leitores.hasNext()) throw new CapaInvalida("formato não suportado pelo ImageIO");
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(imagem, true, true);
+                if ((long) leitor.getWidth(0) * leitor.getHeight(0) > PIXELS_MAXIMOS) {
+                    throw new CapaInvalida("imagem acima de " + PIXELS_MAXIMOS + " pixels");
+                }
+                ImageReadParam parametros = leitor.getDefaultReadParam();
+                int passo = passoLeitura(leitor.getWidth(0), leitor.getHeight(0));
+                if (passo > 1) {
+                    parametros.setSourceSubsampling(passo, passo, 0, 0);
+                }
+                return new Original(leitor.read(0, parametros), leitor.getWidth(0));
+            } catch (CapaInvalida e) {
+                throw e;
+            } catch (IOException e) {
+                throw new CapaInvalida("imagem inválida: " + e.getMessage());
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    /**
+     * Maior passo de amostragem que mantém a largura lida em pelo menos o dobro da maior miniatura,
+     * ou o necessário para caber em {@link #PIXELS_DECODIFICADOS_MAXIMOS} (imagens muito estreitas e
+     * altas), o que for maior.
+     */
+    private static int passoLeitura(int largura, int altura) {
+        int pelaLargura = largura / (2 * LARGURAS[LARGURAS.length - 1]);
+        int pelaArea = (int) Math.ceil(Math.sqrt((double) largura * altura / PIXELS_DECODIFICADOS_MAXIMOS));
+        return Math.max(1, Math.max(pelaLargura, pelaArea));
+    }
+
+    /**
+     * Reduz pela metade enquanto couber (cada passo bilinear é barato e evita serrilhado) e faz o
+     * ajuste final para a largura pedida, sobre fundo branco (JPEG não tem transparência).
+     */
+    private static BufferedImage redimensionar(BufferedImage original, int largura) {
+        int destinoLargura = Math.min(largura, original.getWidth());
+        int destinoAltura = Math.max(1, (int) Math.round((double) original.getHeight() * destinoLargura / original.getWidth()));
+        BufferedImage atual = original;
+        int w = original.getWidth();
+        int h = original.getHeight();
+        do {
+            w = Math.max(destinoLargura, w / 2);
+            h = Math.max(destinoAltura, h / 2);
+            BufferedImage passo = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = passo.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(atual, 0, 0, w, h, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            atual = passo;
+        } while (w != destinoLargura || h != destinoAltura);
+        return atual;
+    }
+
+    private static byte[] jpeg(BufferedImage imagem) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ImageOutputStream destino = ImageIO.createImageOutputStream(saida)) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(QUALIDADE_JPEG);
+            parametros.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            escritor.setOutput(destino);
+            escritor.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+        return saida.toByteArray();
+    }
+
+    private boolean prontas(String chave) {
+        return larguraOriginal(chave) != null;
+    }
+
+    private boolean falhou(String chave) {
+        Integer largura = larguras.get(chave);
+        return largura != null ? largura == SEM_MINIATURAS : Files.exists(arquivo(chave, "falha"));
+    }
+
+    /**
+     * Largura da capa original, ou null sem miniaturas. Os "sem miniaturas" também ficam em memória
+     * (falha para sempre, pendente por {@link #PRAZO_AUSENTE_NS}) para que as listagens não voltem ao
+     * disco a cada livro.
+     */
+    private Integer larguraOriginal(String chave) {
+        Integer largura = larguras.get(chave);
+        if (largura != null) return largura == SEM_MINIATURAS ? null : largura;
+        Long ausenteAte = ausentes.get(chave);
+        if (ausenteAte != null && System.nanoTime() - ausenteAte < 0) return null;
+
+        Path arquivo = arquivo(chave, "largura");
+        if (Files.exists(arquivo)) {
+            try {
+                largura = Integer.valueOf(Files.readString(arquivo, StandardCharsets.UTF_8).trim());
+                larguras.put(chave, largura);
+                ausentes.remove(chave);
+                return largura;
+            } catch (IOException | NumberFormatException e) {
+                log.debug("Largura da capa {} ilegível: {}", chave, motivo(e));
+            }
+        } else if (Files.exists(arquivo(chave, "falha"))) {
+            larguras.put(chave, SEM_MINIATURAS);
+            ausentes.remove(chave);
+            return null;
+        }
+        ausentes.put(chave, System.nanoTime() + PRAZO_AUSENTE_NS);
+        return null;
+    }
+
+    /**
+     * Invalida as respostas do catálogo em cache, para que passem a trazer o srcset das capas recém
+     * processadas. Durante uma leva grande (a carga inicial) isso acontece no máximo a cada
+     * {@link #INTERVALO_PUBLICACAO_NS}, e uma última vez quando a fila esvazia.
+     */
+    private void publicar() {
+        long anterior = ultimaPublicacao.get();
+        long agora = System.nanoTime();
+        if ((executor.getQueue().isEmpty() || agora - anterior >= INTERVALO_PUBLICACAO_NS)
+                && ultimaPublicacao.compareAndSet(anterior, agora)) {
+            cacheRespostas.invalidarPrefixo("livros:");
+        }
+    }
+
+    private static String motivo(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private void marcarFalha(String chave, String motivo) {
+        log.warn("Capa {} sem miniaturas: {}", chave, motivo);
+        larguras.put(chave, SEM_MINIATURAS);
+        ausentes.remove(chave);
+        try {
+            gravarAtomico(arquivo(chave, "falha"), motivo.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.debug("Falha ao marcar a capa {}: {}", chave, e.getMessage());
+        }
+    }
+
+    private Path miniatura(String chave, int largura) {
+        return arquivo(chave + "-" + largura, "jpg");
+    }
+
+    private Path arquivo(String nome, String extensao) {
+        return diretorio.resolve(nome.substring(0, 2)).resolve(nome + "." + extensao);
+    }
+
+    private static void gravarAtomico(Path destino, byte[] conteudo) throws IOException {
+        Files.createDirectories(destino.getParent());
+        Path temporario = Files.createTempFile(destino.getParent(), ".gerando-", ".tmp");
+        try {
+            Files.write(temporario, conteudo);
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+}
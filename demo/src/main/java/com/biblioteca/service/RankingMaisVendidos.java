@@ -0,0 +1,127 @@
+package com.biblioteca.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.config.AposCommit;
+import com.biblioteca.model.TipoCompra;
+import com.biblioteca.repository.CompraRepository;
+import com.biblioteca.repository.VendasLivroRepository;
+
+/**
+ * Ranking de mais vendidos a partir dos contadores de TB_Livro_Vendas.
+ * O banco é atualizado na mesma transação da compra; o espelho em memória é ajustado após o commit
+ * e o top-N de cada tipo é recalculado apenas quando algum contador mudou.
+ */
+@Component
+public class RankingMaisVendidos {
+
+    public static final int LIMITE_MAXIMO = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(RankingMaisVendidos.class);
+
+    @Autowired
+    private VendasLivroRepository vendasLivroRepository;
+
+    @Autowired
+    private CompraRepository compraRepository;
+
+    // idLivro -> {compras, aluguéis}
+    private final Map<Long, long[]> contadores = new ConcurrentHashMap<>();
+    private volatile Map<String, List<Posicao>> topCache = Map.of();
+    // Avança a cada alteração dos contadores; evita publicar um top calculado com dados anteriores
+    private final AtomicLong versao = new AtomicLong();
+
+    public record Posicao(Long idLivro, long quantidade) {}
+
+    /**
+     * Carrega os contadores ao subir a aplicação, preenchendo a tabela a partir das compras na primeira vez.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregar() {
+        if (vendasLivroRepository.count() == 0 && compraRepository.count() > 0) {
+            int livros = vendasLivroRepository.recalcularDeCompras();
+            log.info("Contadores de vendas preenchidos a partir de TB_Compra para {} livros", livros);
+        }
+        contadores.clear();
+        vendasLivroRepository.findAll()
+            .forEach(v -> contadores.put(v.getIdLivro(), new long[] { v.getQtCompras(), v.getQtAlugueis() }));
+        versao.incrementAndGet();
+        topCache = Map.of();
+    }
+
+    /**
+     * Aplica um delta (+1 ou -1) ao contador do livro para o tipo informado.
+     * Deve ser chamado dentro da transação que altera a compra.
+     */
+    public void registrar(Long idLivro, TipoCompra tipo, int delta) {
+        if (idLivro == null || delta == 0) return;
+        long compras = tipo == TipoCompra.ALUGUEL ? 0 : delta;
+        long alugueis = tipo == TipoCompra.ALUGUEL ? delta : 0;
+        vendasLivroRepository.incrementar(idLivro, compras, alugueis);
+
+        Runnable espelhar = () -> {
+            contadores.compute(idLivro, (id, atual) -> {
+                long[] novo = atual == null ? new long[2] : atual.clone();
+                novo[0] += compras;
+                novo[1] += alugueis;
+                return novo;
+            });
+            versao.incrementAndGet();
+            topCache = Map.of();
+        };
+        AposCommit.executar(espelhar);
+    }
+
+    /**
+     * Top-N livros por quantidade; tipo nulo soma compras e aluguéis.
+     */
+    public List<Posicao> top(int limite, TipoCompra tipo) {
+        int n = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        String chave = tipo == null ? "TODOS" : tipo.name();
+        List<Posicao> ranking = topCache.get(chave);
+        if (ranking == null) {
+            long versaoInicial = versao.get();
+            ranking = calcularTop(LIMITE_MAXIMO, tipo);
+            synchronized (this) {
+                if (versao.get() == versaoInicial) {
+                    Map<String, List<Posicao>> novo = new HashMap<>(topCache);
+                    novo.put(chave, ranking);
+                    topCache = novo;
+                }
+            }
+        }
+        return ranking.subList(0, Math.min(n, ranking.size()));
+    }
+
+    private List<Posicao> calcularTop(int n, TipoCompra tipo) {
+        Comparator<Posicao> ordem = Comparator.comparingLong(Posicao::quantidade)
+            .thenComparing(Posicao::idLivro, Comparator.reverseOrder());
+        // Min-heap de tamanho n: uma passada pelos contadores
+        PriorityQueue<Posicao> heap = new PriorityQueue<>(n + 1, ordem);
+        contadores.forEach((id, c) -> {
+            long q = tipo == null ? c[0] + c[1] : (tipo == TipoCompra.ALUGUEL ? c[1] : c[0]);
+            if (q <= 0) return;
+            heap.offer(new Posicao(id, q));
+            if (heap.size() > n) heap.poll();
+        });
+        List<Posicao> resultado = new ArrayList<>(heap);
+        resultado.sort(ordem.reversed());
+        return List.copyOf(resultado);
+    }
+}
@@ -45,6 +45,10 @@ function handleComprasClick(e) {
         case 'deletar-compra':
             deletarCompra(id);
             break;
+        case 'mais-compras':
+            btn.disabled = true;
+            carregarCompras(true);
+            break;
     }
 }
 
@@ -238,46 +242,55 @@ function atualizarInfoAdmin(admin) {
 
 // Removido fallback de dados de teste
 
-async function carregarCompras() {
+const COMPRAS_POR_PAGINA = 50;
+let comprasAdminCarregadas = [];
+let comprasAdminCursor = null;
+
+// Filtros e paginacao rodam no servidor; "Carregar mais" busca a proxima pagina pelo cursor
+async function carregarCompras(anexar = false) {
     const tbody = document.querySelector('#tab-compras tbody');
     if (!tbody) return;
-    // Mostrar skeleton enquanto carrega
-    mostrarSkeletonTabela(tbody, 9, 5);
+    if (!anexar) {
+        comprasAdminCarregadas = [];
+        comprasAdminCursor = null;
+        // Mostrar skeleton enquanto carrega
+        mostrarSkeletonTabela(tbody, 9, 5);
+    }
     
     try {
-        const compras = await CompraAPI.listarTodas();
-        const filtradas = aplicarFiltrosComprasAdmin(compras);
-        renderizarCompras(tbody, filtradas);
+        const pagina = await CompraAPI.listarPagina({
+            ...obterFiltrosComprasAdmin(),
+            after: anexar ? comprasAdminCursor : null,
+            limit: COMPRAS_POR_PAGINA
+        });
+        comprasAdminCarregadas = comprasAdminCarregadas.concat(pagina?.itens || []);
+        comprasAdminCursor = pagina?.proximoCursor ?? null;
+        renderizarCompras(tbody, comprasAdminCarregadas);
+        if (comprasAdminCursor != null) {
+            const tr = document.createElement('tr');
+            tr.innerHTML = '<td colspan="9" style="text-align: center;"><button class="btn btn-outline btn-sm" data-action="mais-compras">Carregar mais</button></td>';
+            tbody.appendChild(tr);
+        }
     } catch (error) {
         console.error('Erro ao carregar compras:', error);
         mostrarErroTabela(tbody, 9, 'compras');
     }
 }
 
-function aplicarFiltrosComprasAdmin(compras) {
+// COMPRA nunca fica pendente no banco, entao status e tipo vao direto como filtros da API
+function obterFiltrosComprasAdmin() {
     const selectStatus = document.getElementById('filtro-status-admin');
     const selectTipo = document.getElementById('filtro-tipo-admin');
-    const statusSel = selectStatus ? String(selectStatus.value || '').toUpperCase() : '';
-    const tipoSel = selectTipo ? String(selectTipo.value || '').toUpperCase() : '';
-
-    return (compras || []).filter(c => {
-        const tipoRaw = c?.tipo ? String(c.tipo).toUpperCase() : null;
-        const tipo = (tipoRaw === 'COMPRA' || tipoRaw === 'ALUGUEL')
-            ? tipoRaw
-            : ((c.livro?.vlAluguel != null) ? 'ALUGUEL' : 'COMPRA');
-        const rawStatus = c?.status ? String(c.status).toUpperCase() : '';
-        // Para filtro: tratar COMPRA com status PENDENTE como FINALIZADA (nÃ£o deve aparecer em "Pendente")
-        const status = (rawStatus === 'PENDENTE' && tipo === 'COMPRA') ? 'FINALIZADA' : rawStatus;
-        const okStatus = !statusSel || status === statusSel;
-        const okTipo = !tipoSel || tipo === tipoSel;
-        return okStatus && okTipo;
-    });
+    return {
+        status: selectStatus ? String(selectStatus.value || '').toUpperCase() : '',
+        tipo: selectTipo ? String(selectTipo.value || '').toUpperCase() : ''
+    };
 }
 
 document.addEventListener('DOMContentLoaded', () => {
     const s1 = document.getElementById('filtro-status-admin');
     const s2 = document.getElementById('filtro-tipo-admin');
-    [s1, s2].forEach(sel => sel && sel.addEventListener('change', carregarCompras));
+    [s1, s2].forEach(sel => sel && sel.addEventListener('change', () => carregarCompras()));
 });
 
 function renderizarCompras(tbody, compras) {
@@ -683,18 +696,29 @@ async function deletarAvaliacao(idAvaliacao) {
     }
 }
 
-async function carregarLivros() {
+const LIVROS_POR_PAGINA_API = 100;
+
+// O catalogo vem do servidor em paginas keyset; a paginacao numerada percorre os livros ja carregados
+// e "Carregar mais" busca a proxima pagina pelo cursor
+async function carregarLivros(anexar = false) {
     const tbody = document.querySelector('#tab-livros tbody');
     if (!tbody) return;
-    // Skeleton: 7 colunas (ID, Livro, Categoria, PreÃ§o Compra, PreÃ§o Aluguel, AvaliaÃ§Ã£o, AÃ§Ãµes)
-    mostrarSkeletonTabela(tbody, 7, 5);
+    window.LivrosState = window.LivrosState || { all: [], page: 1, pageSize: 10, cursor: null };
+    if (!anexar) {
+        LivrosState.all = [];
+        LivrosState.cursor = null;
+        LivrosState.page = 1;
+        // Skeleton: 7 colunas (ID, Livro, Categoria, PreÃ§o Compra, PreÃ§o Aluguel, AvaliaÃ§Ã£o, AÃ§Ãµes)
+        mostrarSkeletonTabela(tbody, 7, 5);
+    }
     
     try {
-        const livros = await LivroAPI.listarTodos();
-        // Estado de paginaÃ§Ã£o
-        window.LivrosState = window.LivrosState || { all: [], page: 1, pageSize: 10 };
-        LivrosState.all = Array.isArray(livros) ? livros : [];
-        LivrosState.page = 1;
+        const pagina = await LivroAPI.listarPagina({
+            after: anexar ? LivrosState.cursor : null,
+            limit: LIVROS_POR_PAGINA_API
+        });
+        LivrosState.all = LivrosState.all.concat(pagina?.itens || []);
+        LivrosState.cursor = pagina?.proximoCursor ?? null;
         renderizarLivrosPagina(tbody);
         renderizarPaginacaoLivros();
     } catch (error) {
@@ -828,7 +852,8 @@ function renderizarPaginacaoLivros() {
     const html = [
         makeBtn('Anterior', current - 1, prevDisabled),
         ...pages.map(p => typeof p === 'number' ? makeBtn(p, p, false, p === current) : `<span class="subtext">${p}</span>`),
-        makeBtn('PrÃ³ximo', current + 1, nextDisabled)
+        makeBtn('PrÃ³ximo', current + 1, nextDisabled),
+        st.cursor != null ? '<button class="btn btn-outline" data-action="mais-livros">Carregar mais</button>' : ''
     ].join('');
     container.innerHTML = html;
 
@@ -836,6 +861,11 @@ function renderizarPaginacaoLivros() {
     container.onclick = (e) => {
         const target = e.target;
         if (!(target instanceof HTMLElement)) return;
+        if (target.getAttribute('data-action') === 'mais-livros') {
+            target.disabled = true;
+            carregarLivros(true);
+            return;
+        }
         const pageAttr = target.getAttribute('data-page');
         if (!pageAttr) return;
         const requested = parseInt(pageAttr, 10);
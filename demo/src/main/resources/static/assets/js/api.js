@@ -70,8 +70,9 @@ const Auth = {
 
 // Função auxiliar para fazer requisições
 async function fetchAPI(endpoint, options = {}) {
+    // FormData (envio de arquivos): o navegador define o Content-Type multipart com o boundary
     const headers = {
-        'Content-Type': 'application/json',
+        ...(options.body instanceof FormData ? {} : { 'Content-Type': 'application/json' }),
         ...(options.headers || {})
     };
     const token = localStorage.getItem('token');
@@ -208,14 +209,29 @@ const ClienteAPI = {
 // ========================================
 
 const LivroAPI = {
-    async listarTodos() {
-        return fetchAPI('/livros');
+    // Paginação por cursor: passe o proximoCursor da página anterior em "after"
+    async listarPagina({ after = null, limit = 20, sort = 'titulo' } = {}) {
+        const params = new URLSearchParams({ limit, sort });
+        if (after != null) params.set('after', after);
+        return fetchAPI(`/livros?${params.toString()}`);
     },
     
     async buscarPorId(id) {
         return fetchAPI(`/livros/${id}`);
     },
     
+    // Ranking de mais vendidos (tipo: 'COMPRA', 'ALUGUEL' ou vazio para ambos)
+    async maisVendidos(limit = 4, tipo = '') {
+        const params = new URLSearchParams({ limit });
+        if (tipo) params.set('tipo', tipo);
+        return fetchAPI(`/livros/mais-vendidos?${params.toString()}`);
+    },
+
+    // Busca por relevância em título, autor, gênero, resumo e sinopse
+    async buscar(q, page = 0, size = 20) {
+        return fetchAPI(`/livros/search?q=${encodeURIComponent(q)}&page=${page}&size=${size}`);
+    },
+    
     async buscarPorTitulo(titulo) {
         return fetchAPI(`/livros/buscar/titulo?titulo=${encodeURIComponent(titulo)}`);
     },
@@ -228,11 +244,6 @@ const LivroAPI = {
         return fetchAPI(`/livros/buscar/genero?genero=${encodeURIComponent(genero)}`);
     },
     
-    async listarDisponiveis() {
-        // Disponibilidade removida: retorna todos como fallback
-        return this.listarTodos();
-    },
-    
     async criar(livro) {
         return fetchAPI('/livros', {
             method: 'POST',
@@ -251,6 +262,16 @@ const LivroAPI = {
         return fetchAPI(`/livros/${id}`, {
             method: 'DELETE'
         });
+    },
+    
+    // Envia a imagem e retorna { url, hash, tipo, tamanho, duplicada }; a url vai em capaUrl
+    async enviarCapa(arquivo) {
+        const dados = new FormData();
+        dados.append('arquivo', arquivo);
+        return fetchAPI('/livros/capas', {
+            method: 'POST',
+            body: dados
+        });
     }
 };
 
@@ -259,8 +280,14 @@ const LivroAPI = {
 // ========================================
 
 const CompraAPI = {
-    async listarTodas() {
-        return fetchAPI('/compras');
+    // Página filtrada no servidor: { itens, proximoCursor, temMais }
+    async listarPagina({ status, tipo, clienteId, livroId, inicioDe, inicioAte, fimDe, fimAte, after = null, limit = 50 } = {}) {
+        const params = new URLSearchParams({ limit });
+        const filtros = { status, tipo, clienteId, livroId, inicioDe, inicioAte, fimDe, fimAte, after };
+        Object.entries(filtros).forEach(([chave, valor]) => {
+            if (valor != null && valor !== '') params.set(chave, valor);
+        });
+        return fetchAPI(`/compras?${params.toString()}`);
     },
     
     // Lista compras do cliente autenticado
@@ -287,6 +314,15 @@ const CompraAPI = {
         });
     },
     
+    // Checkout do carrinho: cria todas as compras do usuário logado em uma única requisição
+    // itens: [{ idLivro, tipo, tipoPagamento }]
+    async criarLote(itens) {
+        return fetchAPI('/compras/lote', {
+            method: 'POST',
+            body: JSON.stringify({ itens })
+        });
+    },
+    
     async atualizarStatus(id, status) {
         return fetchAPI(`/compras/${id}/status?status=${status}`, {
             method: 'PATCH'
@@ -555,19 +591,21 @@ try {
         ];
 
         const normalize = (s) => String(s || '').toLowerCase();
-        window.LivroAPI.listarTodos = async () => SAMPLE_BOOKS;
         window.LivroAPI.buscarPorTitulo = async (titulo) => {
             const q = normalize(titulo);
             return SAMPLE_BOOKS.filter(b => normalize(b.titulo).includes(q));
         };
+        window.LivroAPI.maisVendidos = async (limit = 4) => SAMPLE_BOOKS.slice(0, limit).map(livro => ({ livro, quantidade: 0 }));
+        window.LivroAPI.listarPagina = async ({ limit = 20 } = {}) => ({ itens: SAMPLE_BOOKS.slice(0, limit), proximoCursor: null });
+        window.LivroAPI.buscar = async (q) => {
+            const termo = normalize(q);
+            const itens = SAMPLE_BOOKS.filter(b => normalize(b.titulo).includes(termo) || normalize(b.autor).includes(termo));
+            return { itens, total: itens.length, pagina: 0, tamanho: itens.length };
+        };
         window.LivroAPI.buscarPorGenero = async (genero) => {
             const q = normalize(genero);
             return SAMPLE_BOOKS.filter(b => normalize(b.genero).includes(q));
         };
-        // Opcional: listarDisponiveis igual ao listarTodos
-        if (window.LivroAPI.listarDisponiveis) {
-            window.LivroAPI.listarDisponiveis = async () => SAMPLE_BOOKS;
-        }
         console.info('Preview estático ativo: usando dados de exemplo para livros.');
     }
 } catch (_) { /* ignora erros de ambiente */ }
@@ -293,21 +293,16 @@ const Carrinho = {
      */
     async realizarCheckout(metodo) {
         try {
-            const userId = Auth.getUserId();
             Modal.showLoading('Processando pagamento...');
 
-            for (const item of this.items) {
-                const tipoUpper = item.tipo.toUpperCase();
-                const compra = {
-                    cliente: { idPessoa: parseInt(userId) },
-                    livro: { idLivro: item.idLivro },
-                    status: tipoUpper === 'COMPRA' ? 'FINALIZADA' : 'PENDENTE',
-                    tipo: tipoUpper,
-                    vlTotal: parseFloat(item.preco),
-                    tipoPagamento: metodo
-                };
-                await CompraAPI.criar(compra);
-            }
+            // Envia o carrinho inteiro de uma vez: o backend cria todas as compras do usuário logado
+            // em uma única transação (status e datas definidos no servidor)
+            const itens = this.items.map(item => ({
+                idLivro: item.idLivro,
+                tipo: item.tipo.toUpperCase(),
+                tipoPagamento: metodo
+            }));
+            await CompraAPI.criarLote(itens);
 
             Modal.hideLoading();
             Modal.showSuccess(
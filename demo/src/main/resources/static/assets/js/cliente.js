@@ -238,7 +238,8 @@ async function carregarMultas(userId) {
 
 async function carregarLivrosCliente(userId) {
     try {
-        const livros = await LivroAPI.listarDisponiveis();
+        const pagina = await LivroAPI.listarPagina({ limit: 6 });
+        const livros = pagina?.itens || [];
         const container = document.querySelector('#tab-livros .book-grid');
         
         if (!container) return;
@@ -74,6 +74,9 @@ function handleComprasClick(e) {
     const id = parseInt(btn.getAttribute('data-id-compra'), 10);
     if (btn.getAttribute('data-action') === 'ver-compra') {
         verDetalhesCompra(id);
+    } else if (btn.getAttribute('data-action') === 'mais-compras') {
+        btn.disabled = true;
+        carregarCompras(true);
     }
 }
 
@@ -128,42 +131,54 @@ async function inicializarPainel(userId) {
 // COMPRAS
 // ========================================
 
-async function carregarCompras() {
+const COMPRAS_POR_PAGINA = 50;
+let comprasFuncCarregadas = [];
+let comprasFuncCursor = null;
+
+// Filtros e paginacao rodam no servidor; "Carregar mais" busca a proxima pagina pelo cursor
+async function carregarCompras(anexar = false) {
     const tbody = document.querySelector('#tab-compras tbody');
     if (!tbody) return;
-    // Mostrar skeleton enquanto carrega
-    mostrarSkeletonTabela(tbody, 9, 6);
+    if (!anexar) {
+        comprasFuncCarregadas = [];
+        comprasFuncCursor = null;
+        // Mostrar skeleton enquanto carrega
+        mostrarSkeletonTabela(tbody, 9, 6);
+    }
     try {
-        const compras = await CompraAPI.listarTodas();
-        const filtradas = aplicarFiltrosComprasFunc(compras);
-        renderizarCompras(tbody, filtradas);
+        const pagina = await CompraAPI.listarPagina({
+            ...obterFiltrosComprasFunc(),
+            after: anexar ? comprasFuncCursor : null,
+            limit: COMPRAS_POR_PAGINA
+        });
+        comprasFuncCarregadas = comprasFuncCarregadas.concat(pagina?.itens || []);
+        comprasFuncCursor = pagina?.proximoCursor ?? null;
+        renderizarCompras(tbody, comprasFuncCarregadas);
+        if (comprasFuncCursor != null) {
+            const tr = document.createElement('tr');
+            tr.innerHTML = '<td colspan="9" style="text-align: center;"><button class="btn btn-outline btn-sm" data-action="mais-compras">Carregar mais</button></td>';
+            tbody.appendChild(tr);
+        }
     } catch (error) {
         console.error('Erro ao carregar compras:', error);
         mostrarErroTabela(tbody, 9, 'compras');
     }
 }
 
-function aplicarFiltrosComprasFunc(compras) {
+// COMPRA nunca fica pendente no banco, entao status e tipo vao direto como filtros da API
+function obterFiltrosComprasFunc() {
     const selectStatus = document.getElementById('filtro-status-func');
     const selectTipo = document.getElementById('filtro-tipo-func');
-    const statusSel = selectStatus ? String(selectStatus.value || '').toUpperCase() : '';
-    const tipoSel = selectTipo ? String(selectTipo.value || '').toUpperCase() : '';
-
-    return (compras || []).filter(c => {
-        const tipo = c?.tipo ? String(c.tipo).toUpperCase() : ((c.livro?.vlAluguel != null) ? 'ALUGUEL' : 'COMPRA');
-        const rawStatus = c?.status ? String(c.status).toUpperCase() : '';
-        // Normalizar COMPRA com PENDENTE como FINALIZADA para fins de filtro
-        const status = (rawStatus === 'PENDENTE' && tipo === 'COMPRA') ? 'FINALIZADA' : rawStatus;
-        const okStatus = !statusSel || status === statusSel;
-        const okTipo = !tipoSel || tipo === tipoSel;
-        return okStatus && okTipo;
-    });
+    return {
+        status: selectStatus ? String(selectStatus.value || '').toUpperCase() : '',
+        tipo: selectTipo ? String(selectTipo.value || '').toUpperCase() : ''
+    };
 }
 
 document.addEventListener('DOMContentLoaded', () => {
     const s1 = document.getElementById('filtro-status-func');
     const s2 = document.getElementById('filtro-tipo-func');
-    [s1, s2].forEach(sel => sel && sel.addEventListener('change', carregarCompras));
+    [s1, s2].forEach(sel => sel && sel.addEventListener('change', () => carregarCompras()));
 });
 
 function renderizarCompras(tbody, compras) {
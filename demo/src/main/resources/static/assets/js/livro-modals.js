@@ -66,7 +66,8 @@ const LivroModals = {
 
                 <div class="form-group">
                     <label for="livro-capa-url">URL da Capa (Imagem)</label>
-                    <input type="url" id="livro-capa-url" name="capaUrl" placeholder="https://...">
+                    <input type="text" id="livro-capa-url" name="capaUrl" placeholder="https://... ou envie um arquivo abaixo">
+                    <input type="file" id="livro-capa-arquivo" accept="image/jpeg,image/png,image/webp,image/gif" style="margin-top: 0.5rem;">
                 </div>
                 <div class="form-group">
                     <label for="livro-resumo-curto">Resumo Curto</label>
@@ -100,6 +101,8 @@ const LivroModals = {
             footerHTML
         );
 
+        this.vincularEnvioCapa('livro-capa-arquivo', 'livro-capa-url');
+
         // Event listener para o formulário
         document.getElementById('form-novo-livro').addEventListener('submit', async (e) => {
             e.preventDefault();
@@ -174,7 +177,8 @@ const LivroModals = {
 
                 <div class="form-group">
                     <label for="edit-livro-capa-url">URL da Capa (Imagem)</label>
-                    <input type="url" id="edit-livro-capa-url" name="capaUrl" placeholder="https://...">
+                    <input type="text" id="edit-livro-capa-url" name="capaUrl" placeholder="https://... ou envie um arquivo abaixo">
+                    <input type="file" id="edit-livro-capa-arquivo" accept="image/jpeg,image/png,image/webp,image/gif" style="margin-top: 0.5rem;">
                 </div>
 
                 <div class="form-group">
@@ -208,6 +212,8 @@ const LivroModals = {
             footerHTML
         );
 
+        this.vincularEnvioCapa('edit-livro-capa-arquivo', 'edit-livro-capa-url');
+
         // Event listener para o formulário
         document.getElementById('form-editar-livro').addEventListener('submit', async (e) => {
             e.preventDefault();
@@ -542,6 +548,27 @@ const LivroModals = {
         Modal.open('modal-avaliar-livro');
     },
 
+    /**
+     * Envia a imagem escolhida assim que selecionada e preenche o campo de URL da capa
+     */
+    vincularEnvioCapa(arquivoId, urlId) {
+        const campoArquivo = document.getElementById(arquivoId);
+        campoArquivo.addEventListener('change', async () => {
+            const arquivo = campoArquivo.files && campoArquivo.files[0];
+            if (!arquivo) return;
+            try {
+                const capa = await LivroAPI.enviarCapa(arquivo);
+                document.getElementById(urlId).value = capa.url;
+                Toast.success('Capa enviada');
+            } catch (error) {
+                console.error('Erro ao enviar capa:', error);
+                Toast.error(error.message || 'Erro ao enviar capa');
+            } finally {
+                campoArquivo.value = '';
+            }
+        });
+    },
+
     /**
      * Salva novo livro
      */
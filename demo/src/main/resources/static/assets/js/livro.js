@@ -56,8 +56,10 @@
       if (id) {
         livro = await LivroAPI.buscarPorId(parseInt(id));
       } else {
-        const todos = await LivroAPI.listarTodos();
-        livro = todos && todos.length > 0 ? todos[0] : null;
+        // Sem id: abre o primeiro livro do catálogo (uma página de 1 item, não o catálogo inteiro)
+        const pagina = await LivroAPI.listarPagina({ limit: 1 });
+        const primeiro = pagina?.itens?.[0];
+        livro = primeiro ? await LivroAPI.buscarPorId(primeiro.idLivro) : null;
       }
 
       if (!livro) {
@@ -78,6 +80,11 @@
         if (!existingImg) {
           const img = document.createElement('img');
           img.className = 'cover-image';
+          // Miniatura adequada à largura da capa na tela; src fica como fallback
+          if (livro.capaSrcset) {
+            img.srcset = livro.capaSrcset;
+            img.sizes = '(max-width: 600px) 80vw, 400px';
+          }
           img.src = coverUrl;
           img.alt = livro.titulo || 'Capa do Livro';
           // Fallback visual se a imagem falhar
@@ -88,6 +95,8 @@
           });
           coverBorder.appendChild(img);
         } else {
+          existingImg.srcset = livro.capaSrcset || '';
+          existingImg.sizes = '(max-width: 600px) 80vw, 400px';
           existingImg.src = coverUrl;
           existingImg.alt = livro.titulo || 'Capa do Livro';
         }
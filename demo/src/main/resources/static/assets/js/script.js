@@ -101,6 +101,9 @@ document.addEventListener('DOMContentLoaded', () => {
         const loadMoreBtn = document.getElementById('home-load-more');
         let homeCache = [];
         let homeLimit = 10;
+        // Catálogo sem filtro vem em páginas keyset; "Ver mais" busca a próxima quando as carregadas acabam
+        const HOME_PAGINA = 20;
+        let homeCursor = null;
 
         function isValidHttpUrl(url) {
             if (!url || typeof url !== 'string') return false;
@@ -126,6 +129,7 @@ document.addEventListener('DOMContentLoaded', () => {
             try {
                 const categoria = (homeCategorySelect && homeCategorySelect.value) ? homeCategorySelect.value : '';
                 let livros;
+                homeCursor = null;
 
                 if (categoria) {
                     // Busca por gênero na API quando categoria selecionada
@@ -139,11 +143,15 @@ document.addEventListener('DOMContentLoaded', () => {
                         );
                     }
                 } else {
-                    // Sem categoria: usa título quando há query, senão lista todos
+                    // Sem categoria: busca por relevância quando há query, senão a primeira página do catálogo
                     const q = (query || '').trim();
-                    livros = q.length >= 2
-                        ? await LivroAPI.buscarPorTitulo(q)
-                        : await LivroAPI.listarTodos();
+                    if (q.length >= 2) {
+                        livros = (await LivroAPI.buscar(q, 0, 100))?.itens;
+                    } else {
+                        const pagina = await LivroAPI.listarPagina({ limit: HOME_PAGINA });
+                        livros = pagina?.itens;
+                        homeCursor = pagina?.proximoCursor ?? null;
+                    }
                 }
                 homeCache = livros || [];
                 homeLimit = 10;
@@ -168,7 +176,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 const imgSrc = resolveCoverUrl(livro.capaUrl) || 'https://placehold.co/300x400/0a2342/ffffff?text=Livro';
                 const cardHtml = `
                     <div class="card book-card">
-                        <img src="${imgSrc}" alt="${livro.titulo || 'Livro'}">
+                        <img src="${imgSrc}"${livro.capaSrcset ? ` srcset="${livro.capaSrcset}" sizes="(max-width: 600px) 50vw, 240px"` : ''} loading="lazy" alt="${livro.titulo || 'Livro'}">
                         <div class="content">
                             <h3>${livro.titulo || 'Livro'}</h3>
                             <p class="subtext">${livro.autor || ''}</p>
@@ -179,7 +187,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 homeBookGrid.insertAdjacentHTML('beforeend', cardHtml);
             }
             if (loadMoreContainer) {
-                loadMoreContainer.style.display = (homeCache.length > homeLimit) ? '' : 'none';
+                loadMoreContainer.style.display = (homeCache.length > homeLimit || homeCursor != null) ? '' : 'none';
             }
         }
 
@@ -208,8 +216,20 @@ document.addEventListener('DOMContentLoaded', () => {
         }
 
         if (loadMoreBtn) {
-            loadMoreBtn.addEventListener('click', () => {
+            loadMoreBtn.addEventListener('click', async () => {
                 homeLimit += 10;
+                if (homeCache.length < homeLimit && homeCursor != null) {
+                    loadMoreBtn.disabled = true;
+                    try {
+                        const pagina = await LivroAPI.listarPagina({ after: homeCursor, limit: HOME_PAGINA });
+                        homeCache = homeCache.concat(pagina?.itens || []);
+                        homeCursor = pagina?.proximoCursor ?? null;
+                    } catch (error) {
+                        console.error('Erro ao carregar mais livros:', error);
+                    } finally {
+                        loadMoreBtn.disabled = false;
+                    }
+                }
                 renderHomeBooks();
             });
         }
@@ -244,46 +264,19 @@ document.addEventListener('DOMContentLoaded', () => {
         }
 
         async function carregarMaisVendidos() {
-            // Tenta obter dados globais de compras; se não houver permissão, faz fallback para lista de livros
+            // Ranking calculado no servidor (público); se vazio, faz fallback para lista de livros
             try {
-                let compras = [];
-                let podeListarCompras = false;
-                try {
-                    const user = (typeof Auth !== 'undefined' && Auth.getUser) ? Auth.getUser() : null;
-                    const role = user?.role;
-                    // Em ambientes com segurança, listar todas as compras geralmente exige ADMIN/FUNCIONARIO
-                    podeListarCompras = !!(role === 'ADMIN' || role === 'FUNCIONARIO');
-                } catch (_) { podeListarCompras = false; }
-
-                if (podeListarCompras) {
-                    compras = await CompraAPI.listarTodas();
-                } else {
-                    // Para CLIENTE/visitante, não chamar endpoints de compras para evitar 403 e redirecionamentos
-                    compras = [];
-                }
-
-                // Monta ranking por livro considerando compras + alugueis (qualquer compra não cancelada)
-                const ranking = new Map();
-                if (Array.isArray(compras)) {
-                    compras.forEach(c => {
-                        const st = String(c?.status || '').toUpperCase();
-                        if (st === 'CANCELADA') return;
-                        const livro = c?.livro;
-                        const id = livro?.idLivro;
-                        if (!id) return;
-                        const prev = ranking.get(id) || { count: 0, livro };
-                        prev.count += 1;
-                        prev.livro = livro || prev.livro;
-                        ranking.set(id, prev);
-                    });
-                }
+                const ranking = await LivroAPI.maisVendidos(4).catch(() => []);
+                const top = Array.isArray(ranking)
+                    ? ranking.map(r => ({ count: r.quantidade, livro: r.livro })).slice(0, 4)
+                    : [];
 
-                let top = Array.from(ranking.values()).sort((a, b) => b.count - a.count).slice(0, 4);
                 let origem = 'compras/alugueis';
-                if (!top || top.length === 0) {
-                    // Fallback: usa lista de livros para preencher visualmente
-                    const livros = await LivroAPI.listarTodos().catch(() => []);
-                    top = (Array.isArray(livros) ? livros.slice(0, 4).map(l => ({ count: 0, livro: l })) : []);
+                if (top.length === 0) {
+                    // Fallback: usa a primeira página do catálogo para preencher visualmente
+                    const pagina = await LivroAPI.listarPagina({ limit: 4 }).catch(() => null);
+                    const livros = pagina?.itens || [];
+                    livros.forEach(l => top.push({ count: 0, livro: l }));
                     origem = 'catálogo';
                 }
 
@@ -295,7 +288,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 const precoHtml = (destaque?.vlCompra != null) ? `<span class="price">${UI.formatCurrency(destaque.vlCompra)}</span>` : '';
                 const leftHtml = `
                     <div class="card book-card">
-                        <img src="${destaqueImg}" alt="${destaque?.titulo || 'Livro'}">
+                        <img src="${destaqueImg}"${destaque?.capaSrcset ? ` srcset="${destaque.capaSrcset}" sizes="(max-width: 600px) 80vw, 320px"` : ''} alt="${destaque?.titulo || 'Livro'}">
                         <div class="content">
                             <h3>${destaque?.titulo || 'Livro'}</h3>
                             <p class="subtext">${destaque?.autor || ''}</p>
@@ -310,7 +303,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 proximos3.forEach(l => {
                     const img = resolveCoverUrlPromo(l?.capaUrl) || 'https://placehold.co/150x200/0a2342/ffffff?text=Livro';
                     const alt = l?.titulo || 'Bestseller';
-                    imagensHtml += `<a href="/pages/livro.html?id=${l?.idLivro}" title="${alt}"><img src="${img}" alt="${alt}"></a>`;
+                    imagensHtml += `<a href="/pages/livro.html?id=${l?.idLivro}" title="${alt}"><img src="${img}"${l?.capaSrcset ? ` srcset="${l.capaSrcset}" sizes="120px"` : ''} alt="${alt}"></a>`;
                 });
 
                 const rightHtml = `